@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// BA5E global, BA5F local and BA5J affine gap alignment of two random proteins
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlignmentBenchmark {
+
+    @Param({"100", "500", "1000"})
+    private int length;
+
+    private String v;
+    private String w;
+    private MethodHandle globalAlignment;
+    private MethodHandle localAlignment;
+    private MethodHandle affineGapAlignment;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        v = Genomes.randomProtein(length, Genomes.SEED);
+        w = Genomes.randomProtein(length, Genomes.SEED + 1);
+        globalAlignment = Chapters.entryPoint("BA5E", "findHighestScoringAlignment",
+                Map.Entry.class, String.class, String.class);
+        localAlignment = Chapters.entryPoint("BA5F", "findHighestScoringLocalAlignment",
+                Map.Entry.class, String.class, String.class);
+        affineGapAlignment = Chapters.entryPoint("BA5J", "affineGapAlignment",
+                Map.Entry.class, String.class, String.class);
+    }
+
+    @Benchmark
+    public Object globalAlignment() throws Throwable {
+        return globalAlignment.invoke(v, w);
+    }
+
+    @Benchmark
+    public Object localAlignment() throws Throwable {
+        return localAlignment.invoke(v, w);
+    }
+
+    @Benchmark
+    public Object affineGapAlignment() throws Throwable {
+        return affineGapAlignment.invoke(v, w);
+    }
+}
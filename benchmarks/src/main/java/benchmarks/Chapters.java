@@ -0,0 +1,35 @@
+package benchmarks;
+
+import auxil.ResultSink;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Problem classes live in the unnamed package, which can not be imported from a named one, so
+// benchmarks reach their public entry points through method handles resolved once per trial.
+
+final class Chapters {
+
+    private Chapters() {
+    }
+
+    static MethodHandle entryPoint(String className, String methodName, Class<?> returnType,
+                                   Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName(className), methodName,
+                    MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to find %s.%s".formatted(className, methodName), e);
+        }
+    }
+
+    static void muteResultSink() {
+        try {
+            entryPoint("UTIL", "setResultSink", void.class, ResultSink.class)
+                    .invoke(ResultSink.none());
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to mute result sink", e);
+        }
+    }
+}
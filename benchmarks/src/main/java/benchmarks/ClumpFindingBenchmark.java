@@ -0,0 +1,62 @@
+package benchmarks;
+
+import auxil.PackedSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// BA1E on genomes with a clump planted every 10 kb
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClumpFindingBenchmark {
+
+    private static final int K = 9;
+    private static final int L = 500;
+    private static final int T = 3;
+
+    @Param({"100000", "1000000", "10000000"})
+    private int genomeLength;
+
+    private String genome;
+    private PackedSequence packedGenome;
+    private MethodHandle clumpFinding;
+    private MethodHandle packedClumpFinding;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        genome = Genomes.withClumps(genomeLength, K, L, T, 10_000);
+        packedGenome = PackedSequence.of(genome);
+        clumpFinding = Chapters.entryPoint("BA1E", "clumpFinding", Set.class,
+                String.class, int.class, int.class, int.class);
+        packedClumpFinding = Chapters.entryPoint("BA1E", "clumpFinding", Set.class,
+                PackedSequence.class, int.class, int.class, int.class);
+    }
+
+    @Benchmark
+    public Object clumpFinding() throws Throwable {
+        return clumpFinding.invoke(genome, K, L, T);
+    }
+
+    @Benchmark
+    public Object packedClumpFinding() throws Throwable {
+        return packedClumpFinding.invoke(packedGenome, K, L, T);
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// BA3E on all 25-mers of a random genome
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeBruijnGraphBenchmark {
+
+    private static final int K = 25;
+
+    @Param({"10000", "100000", "1000000"})
+    private int genomeLength;
+
+    private List<String> kMers;
+    private MethodHandle constructDeBruijnGraph;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        kMers = Genomes.kMers(Genomes.randomDNA(genomeLength), K);
+        constructDeBruijnGraph = Chapters.entryPoint("BA3E", "constructDeBruijnGraphFromKMers",
+                Map.class, List.class);
+    }
+
+    @Benchmark
+    public Object constructDeBruijnGraph() throws Throwable {
+        return constructDeBruijnGraph.invoke(kMers);
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeded synthetic inputs, so that every fork of a benchmark sees the same data.
+
+final class Genomes {
+
+    static final long SEED = 0x5eed;
+    private static final String NUCLEOTIDES = "ACGT";
+    private static final String AMINO_ACIDS = "ACDEFGHIKLMNPQRSTVWY";
+
+    private Genomes() {
+    }
+
+    static String random(String alphabet, int length, SplittableRandom random) {
+        char[] sequence = new char[length];
+        for (int i = 0; i < length; ++i) {
+            sequence[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+
+        return new String(sequence);
+    }
+
+    static String randomDNA(int length) {
+        return random(NUCLEOTIDES, length, new SplittableRandom(SEED));
+    }
+
+    static String randomProtein(int length, long seed) {
+        return random(AMINO_ACIDS, length, new SplittableRandom(seed));
+    }
+
+    static String mutate(String pattern, int d, SplittableRandom random) {
+        char[] mutated = pattern.toCharArray();
+        for (int i = 0; i < d; ++i) {
+            int position = random.nextInt(mutated.length);
+            mutated[position] = NUCLEOTIDES.charAt(random.nextInt(NUCLEOTIDES.length()));
+        }
+
+        return new String(mutated);
+    }
+
+    // t random DNA strings of the given length, each with a copy of one motif carrying up to d
+    // substitutions planted at a random position
+    static List<String> withPlantedMotif(int t, int length, int k, int d) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String motif = random(NUCLEOTIDES, k, random);
+        List<String> DNA = new ArrayList<>(t);
+
+        for (int i = 0; i < t; ++i) {
+            StringBuilder text = new StringBuilder(random(NUCLEOTIDES, length, random));
+            int position = random.nextInt(length - k + 1);
+            text.replace(position, position + k, mutate(motif, d, random));
+            DNA.add(text.toString());
+        }
+
+        return DNA;
+    }
+
+    // Genome with the k-mer repeated t times inside a window of length L every period bases
+    static String withClumps(int length, int k, int L, int t, int period) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder genome = new StringBuilder(random(NUCLEOTIDES, length, random));
+
+        for (int start = 0; start + L <= length; start += period) {
+            String kMer = random(NUCLEOTIDES, k, random);
+            for (int i = 0; i < t; ++i) {
+                int position = start + i * (L - k) / t;
+                genome.replace(position, position + k, kMer);
+            }
+        }
+
+        return genome.toString();
+    }
+
+    static List<String> kMers(String text, int k) {
+        List<String> kMers = new ArrayList<>(text.length() - k + 1);
+        for (int i = 0; i < text.length() - k + 1; ++i) {
+            kMers.add(text.substring(i, i + k));
+        }
+
+        return kMers;
+    }
+}
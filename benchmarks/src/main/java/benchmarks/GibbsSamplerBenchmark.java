@@ -0,0 +1,51 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BA2G on twenty 100 bp strings sharing a planted 15-mer with four substitutions
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GibbsSamplerBenchmark {
+
+    private static final int K = 15;
+    private static final int T = 20;
+    private static final int TEXT_LENGTH = 100;
+
+    @Param({"100", "1000"})
+    private int N;
+
+    private List<String> DNA;
+    private MethodHandle GibbsSampler;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        DNA = Genomes.withPlantedMotif(T, TEXT_LENGTH, K, 4);
+        GibbsSampler = Chapters.entryPoint("BA2G", "GibbsSampler", List.class,
+                List.class, int.class, int.class, int.class);
+    }
+
+    @Benchmark
+    public Object GibbsSampler() throws Throwable {
+        return GibbsSampler.invoke(DNA, K, T, N);
+    }
+}
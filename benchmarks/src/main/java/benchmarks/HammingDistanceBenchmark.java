@@ -0,0 +1,61 @@
+package benchmarks;
+
+import auxil.PackedSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// BA1G on strings against the packed XOR + popcount kernel
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HammingDistanceBenchmark {
+
+    @Param({"12", "100", "1000"})
+    private int length;
+
+    private String fDNA;
+    private String sDNA;
+    private PackedSequence fPacked;
+    private PackedSequence sPacked;
+    private MethodHandle HammingDistance;
+    private MethodHandle packedHammingDistance;
+
+    @Setup
+    public void setUp() {
+        fDNA = Genomes.randomDNA(length);
+        sDNA = Genomes.mutate(fDNA, length / 4, new SplittableRandom(Genomes.SEED));
+        fPacked = PackedSequence.of(fDNA);
+        sPacked = PackedSequence.of(sDNA);
+        HammingDistance = Chapters.entryPoint("BA1G", "HammingDistance", int.class,
+                String.class, String.class);
+        packedHammingDistance = Chapters.entryPoint("BA1G", "HammingDistance", int.class,
+                PackedSequence.class, PackedSequence.class);
+    }
+
+    @Benchmark
+    public int HammingDistance() throws Throwable {
+        return (int)HammingDistance.invokeExact(fDNA, sDNA);
+    }
+
+    @Benchmark
+    public int packedHammingDistance() throws Throwable {
+        return (int)packedHammingDistance.invokeExact(fPacked, sPacked);
+    }
+}
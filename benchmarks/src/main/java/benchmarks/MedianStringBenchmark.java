@@ -0,0 +1,50 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BA2B on ten 100 bp strings sharing a planted motif with one substitution
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MedianStringBenchmark {
+
+    private static final int T = 10;
+    private static final int TEXT_LENGTH = 100;
+
+    @Param({"6", "8"})
+    private int k;
+
+    private List<String> DNA;
+    private MethodHandle medianString;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        DNA = Genomes.withPlantedMotif(T, TEXT_LENGTH, k, 1);
+        medianString = Chapters.entryPoint("BA2B", "medianString", String.class,
+                List.class, int.class);
+    }
+
+    @Benchmark
+    public Object medianString() throws Throwable {
+        return medianString.invoke(DNA, k);
+    }
+}
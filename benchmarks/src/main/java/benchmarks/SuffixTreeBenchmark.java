@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BA9C suffix tree and BA9G suffix array of a random genome terminated by $
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuffixTreeBenchmark {
+
+    @Param({"200", "500", "1000"})
+    private int textLength;
+
+    private String text;
+    private MethodHandle constructSuffixTree;
+    private MethodHandle constructSuffixArray;
+
+    @Setup
+    public void setUp() {
+        Chapters.muteResultSink();
+        text = Genomes.randomDNA(textLength - 1) + "$";
+        constructSuffixTree = Chapters.entryPoint("BA9C", "constructSuffixTree", List.class,
+                String.class);
+        constructSuffixArray = Chapters.entryPoint("BA9G", "constructSuffixArray", List.class,
+                String.class);
+    }
+
+    @Benchmark
+    public Object constructSuffixTree() throws Throwable {
+        return constructSuffixTree.invoke(text);
+    }
+
+    @Benchmark
+    public Object constructSuffixArray() throws Throwable {
+        return constructSuffixArray.invoke(text);
+    }
+}
@@ -45,6 +45,8 @@
 // 2
 // -------------
 
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.List;
 
@@ -64,10 +66,29 @@ public class BA1A {
         return count;
     }
 
+    private static int patternCountMachinery(PackedSequence text, String pattern) {
+        int count = 0;
+        int textLength = text.length();
+        int patternLength = pattern.length();
+        PackedSequence packedPattern = PackedSequence.of(pattern);
+
+        for (int i = 0; i < textLength - patternLength + 1; ++i) {
+            if (text.regionMatches(i, packedPattern)) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
     public static int patternCount(String text, String pattern) {
         return patternCountMachinery(text, pattern);
     }
 
+    public static int patternCount(PackedSequence text, String pattern) {
+        return patternCountMachinery(text, pattern);
+    }
+
     public static int patternCount(Path path) {
         List<String> sampleDataset = UTIL.readDataset(path);
         String text = sampleDataset.getFirst(), pattern = sampleDataset.getLast();
@@ -50,13 +50,14 @@ public class BA1B {
             }
         }
 
-        UTIL.writeToFile(frequentPatterns);
-
         return frequentPatterns;
     }
 
     public static Set<String> frequentWords(String text, int k) {
-        return frequentWordsMachinery(text, k);
+        Set<String> frequentPatterns = frequentWordsMachinery(text, k);
+        UTIL.writeToFile(frequentPatterns);
+
+        return frequentPatterns;
     }
 
     public static Set<String> frequentWords(Path path) {
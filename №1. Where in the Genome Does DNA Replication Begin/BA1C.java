@@ -51,21 +51,21 @@ public class BA1C {
         for (int i = patternLength - 1; i > -1; --i) {
             reverseComplement.append(getNucleotideComplement(pattern.charAt(i)));
         }
-        String reverseComplementAns = reverseComplement.toString();
 
-        UTIL.writeToFile(List.of(reverseComplementAns));
-
-        return reverseComplementAns;
+        return reverseComplement.toString();
     }
 
     public static String reverseComplement(Path path) {
         List<String> sampleDataset = UTIL.readDataset(path);
         String pattern = sampleDataset.getFirst();
 
-        return reverseComplementMachinery(pattern);
+        return reverseComplement(pattern);
     }
 
     public static String reverseComplement(String pattern) {
-        return reverseComplementMachinery(pattern);
+        String reverseComplement = reverseComplementMachinery(pattern);
+        UTIL.writeToFile(List.of(reverseComplement));
+
+        return reverseComplement;
     }
 }
@@ -26,9 +26,17 @@
 // 1 3 9
 // -------------
 
+import auxil.AhoCorasick;
+import auxil.MappedFasta;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class BA1D {
 
@@ -43,20 +51,105 @@ public class BA1D {
             }
         }
 
-        UTIL.writeToFile(positions);
+        return positions;
+    }
+
+    private static List<Integer> patternMatchingMachinery(String pattern, PackedSequence genome) {
+        int patternLength = pattern.length(),
+                genomeLength = genome.length();
+        PackedSequence packedPattern = PackedSequence.of(pattern);
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < genomeLength - patternLength + 1; ++i) {
+            if (genome.regionMatches(i, packedPattern)) {
+                positions.add(i);
+            }
+        }
 
         return positions;
     }
 
+    private static Map<String, List<Integer>>
+    multiplePatternMatchingMachinery(List<String> patterns, Consumer<AhoCorasick> scan) {
+        List<String> distinctPatterns = patterns
+                .stream()
+                .distinct()
+                .toList();
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        List<List<Integer>> patternPositions = new ArrayList<>(distinctPatterns.size());
+
+        for (String pattern : distinctPatterns) {
+            List<Integer> matches = new ArrayList<>();
+            positions.put(pattern, matches);
+            patternPositions.add(matches);
+        }
+        scan.accept(new AhoCorasick(distinctPatterns,
+                (patternIndex, position) -> patternPositions.get(patternIndex).add(position)));
+
+        return positions;
+    }
+
+    private static void writeMultiplePatternMatches(Map<String, List<Integer>> positions) {
+        UTIL.writeToFileWithNewlines(positions
+                .entrySet()
+                .stream()
+                .map(entry -> "%s: %s".formatted(entry.getKey(), entry
+                        .getValue()
+                        .stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(" "))))
+                .toList());
+    }
+
     public static List<Integer> patternMatching(Path path) {
         List<String> sampleDataset = UTIL.readDataset(path);
         String pattern = sampleDataset.getFirst();
         String genome = sampleDataset.getLast();
 
-        return patternMatchingMachinery(pattern, genome);
+        List<Integer> positions = patternMatchingMachinery(pattern, genome);
+        UTIL.writeToFile(positions);
+
+        return positions;
     }
 
     public static List<Integer> patternMatching(String pattern, String genome) {
-        return patternMatchingMachinery(pattern, genome);
+        List<Integer> positions = patternMatchingMachinery(pattern, genome);
+        UTIL.writeToFile(positions);
+
+        return positions;
+    }
+
+    public static List<Integer> patternMatching(String pattern, PackedSequence genome) {
+        List<Integer> positions = patternMatchingMachinery(pattern, genome);
+        UTIL.writeToFile(positions);
+
+        return positions;
+    }
+
+    public static Map<String, List<Integer>>
+    multiplePatternMatching(List<String> patterns, String genome) {
+        Map<String, List<Integer>> positions =
+                multiplePatternMatchingMachinery(patterns, matcher -> matcher.scan(genome));
+        writeMultiplePatternMatches(positions);
+
+        return positions;
+    }
+
+    public static Map<String, List<Integer>>
+    multiplePatternMatching(List<String> patterns, PackedSequence genome) {
+        Map<String, List<Integer>> positions =
+                multiplePatternMatchingMachinery(patterns, matcher -> matcher.scan(genome));
+        writeMultiplePatternMatches(positions);
+
+        return positions;
+    }
+
+    public static Map<String, List<Integer>>
+    multiplePatternMatching(List<String> patterns, MappedFasta genome) {
+        Map<String, List<Integer>> positions =
+                multiplePatternMatchingMachinery(patterns, matcher -> matcher.scan(genome));
+        writeMultiplePatternMatches(positions);
+
+        return positions;
     }
 }
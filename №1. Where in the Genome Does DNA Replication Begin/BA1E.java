@@ -26,34 +26,57 @@
 // CGACA GAAGA AATGT
 // -------------
 
+import auxil.ClumpFinder;
+import auxil.MappedFasta;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class BA1E {
 
-    private static Set<String> clumpFindingMachinery(String genome, int k, int L, int t) {
-        int genomeLength = genome.length();
+    private static Set<String> collectClumps(int k, int L, int t, Consumer<ClumpFinder> scan) {
         Set<String> clumpKMers = new HashSet<>();
+        scan.accept(new ClumpFinder(k, L, t,
+                (windowStart, code) -> clumpKMers.add(PackedSequence.decode(code, k))));
+
+        return clumpKMers;
+    }
+
+    private static Set<String> clumpFindingMachinery(String genome, int k, int L, int t) {
+        return collectClumps(k, L, t, clumpFinder -> clumpFinder.scan(genome));
+    }
+
+    private static Set<String> clumpFindingMachinery(PackedSequence genome, int k, int L, int t) {
+        return collectClumps(k, L, t, clumpFinder -> clumpFinder.scan(genome));
+    }
+
+    private static Set<String> clumpFindingMachinery(MappedFasta genome, int k, int L, int t) {
+        return collectClumps(k, L, t, clumpFinder -> clumpFinder.scan(genome));
+    }
 
-        for (int i = 0; i < genomeLength - L + 1; ++i) {
-            String clump = genome.substring(i, i + L);
-            for (int j = 0; j < L - k + 1; ++j) {
-                String pattern = clump.substring(j, j + k);
-                if (BA1A.patternCount(clump, pattern) >= t) {
-                    clumpKMers.add(pattern);
-                }
-            }
-        }
+    public static Set<String> clumpFinding(String genome, int k, int L, int t) {
+        Set<String> clumpKMers = clumpFindingMachinery(genome, k, L, t);
+        UTIL.writeToFile(clumpKMers);
+
+        return clumpKMers;
+    }
 
+    public static Set<String> clumpFinding(PackedSequence genome, int k, int L, int t) {
+        Set<String> clumpKMers = clumpFindingMachinery(genome, k, L, t);
         UTIL.writeToFile(clumpKMers);
 
         return clumpKMers;
     }
 
-    public static Set<String> clumpFinding(String genome, int k, int L, int t) {
-        return clumpFindingMachinery(genome, k, L, t);
+    public static Set<String> clumpFinding(MappedFasta genome, int k, int L, int t) {
+        Set<String> clumpKMers = clumpFindingMachinery(genome, k, L, t);
+        UTIL.writeToFile(clumpKMers);
+
+        return clumpKMers;
     }
 
     public static Set<String> clumpFinding(Path path) {
@@ -62,6 +85,9 @@ public class BA1E {
         List<Integer> intParams = UTIL.parseIntArray(sampleDataset.getLast());
         int k = intParams.getFirst(), L = intParams.get(1), t = intParams.getLast();
 
-        return clumpFindingMachinery(genome, k, L, t);
+        Set<String> clumpKMers = clumpFindingMachinery(genome, k, L, t);
+        UTIL.writeToFile(clumpKMers);
+
+        return clumpKMers;
     }
 }
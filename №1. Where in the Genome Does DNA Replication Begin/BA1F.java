@@ -27,52 +27,44 @@
 // 53 97
 // -------------
 
+import auxil.PackedSequence;
+import auxil.SkewScanner;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class BA1F {
 
-    private static List<Integer> minimumSkewMachinery(String genome) {
-        int genomeLength = genome.length();
-        int[] skew = new int[genomeLength + 1];
-        List<Integer> minPositions = new ArrayList<>();
+    private static List<Integer> minimumSkewMachinery(SkewScanner skewScanner) {
+        return skewScanner.minimumSkewPositions();
+    }
 
-        for (int i = 0; i < genomeLength; ++i) {
-            skew[i + 1] = skew[i] +
-                    switch (genome.charAt(i)) {
-                        case 'A', 'T' -> 0;
-                        case 'C' -> -1;
-                        case 'G' -> 1;
-                        default -> throw new RuntimeException("Incorrect nucleotide: %c"
-                                .formatted(genome.charAt(i)));
-                    };
-        }
-        int minSkew = Arrays
-                .stream(skew)
-                .min()
-                .orElseThrow();
+    public static List<Integer> minimumSkew(Path path) {
+        List<String> sampleDataset = UTIL.readDataset(path);
+        String genome = sampleDataset.getFirst();
 
-        for (int i = 0; i < genomeLength + 1; ++i) {
-            if (skew[i] == minSkew) {
-                minPositions.add(i);
-            }
-        }
+        return minimumSkew(genome);
+    }
 
+    public static List<Integer> minimumSkew(String genome) {
+        List<Integer> minPositions = minimumSkewMachinery(SkewScanner.of(genome));
         UTIL.writeToFile(minPositions);
 
         return minPositions;
     }
 
-    public static List<Integer> minimumSkew(Path path) {
-        List<String> sampleDataset = UTIL.readDataset(path);
-        String genome = sampleDataset.getFirst();
+    public static List<Integer> minimumSkew(PackedSequence genome) {
+        List<Integer> minPositions = minimumSkewMachinery(SkewScanner.of(genome));
+        UTIL.writeToFile(minPositions);
 
-        return minimumSkewMachinery(genome);
+        return minPositions;
     }
 
-    public static List<Integer> minimumSkew(String genome) {
-        return minimumSkewMachinery(genome);
+    public static int[] skewCurve(String genome, int step) {
+        return SkewScanner.of(genome).skewCurve(step);
+    }
+
+    public static int[] skewCurve(PackedSequence genome, int step) {
+        return SkewScanner.of(genome).skewCurve(step);
     }
 }
@@ -25,6 +25,8 @@
 // 3
 // -------------
 
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.List;
 
@@ -56,4 +58,16 @@ public class BA1G {
     public static int HammingDistance(String fDNA, String sDNA) {
         return HammingDistanceMachinery(fDNA, sDNA);
     }
+
+    public static int HammingDistance(PackedSequence fDNA, PackedSequence sDNA) {
+        return HammingDistance(fDNA, sDNA, Integer.MAX_VALUE);
+    }
+
+    public static int HammingDistance(PackedSequence fDNA, PackedSequence sDNA, int d) {
+        if (fDNA.length() != sDNA.length()) {
+            throw new RuntimeException("Sequences have different lengths");
+        }
+
+        return fDNA.mismatches(0, sDNA, d);
+    }
 }
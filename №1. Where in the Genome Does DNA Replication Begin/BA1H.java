@@ -28,6 +28,8 @@
 // 6 7 26 27 78
 // -------------
 
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,28 +38,37 @@ public class BA1H {
 
     private static List<Integer>
     approximatePatternMatchingMachinery(String pattern, String text, int d) {
+        return approximatePatternMatchingMachinery(pattern, PackedSequence.of(text), d);
+    }
+
+    private static int approximatePatternCountMachinery(String pattern, String text, int d) {
+        return approximatePatternCountMachinery(pattern, PackedSequence.of(text), d);
+    }
+
+    private static List<Integer>
+    approximatePatternMatchingMachinery(String pattern, PackedSequence text, int d) {
         int patternLength = pattern.length(),
                 textLength = text.length();
+        PackedSequence packedPattern = PackedSequence.of(pattern);
         List<Integer> positions = new ArrayList<>();
 
         for (int i = 0; i < textLength - patternLength + 1; ++i) {
-            if (BA1G.HammingDistance(text.substring(i, i + patternLength), pattern) <= d) {
+            if (text.mismatches(i, packedPattern, d) <= d) {
                 positions.add(i);
             }
         }
 
-        UTIL.writeToFile(positions);
-
         return positions;
     }
 
-    private static int approximatePatternCountMachinery(String pattern, String text, int d) {
+    private static int approximatePatternCountMachinery(String pattern, PackedSequence text, int d) {
         int patternLength = pattern.length(),
                 textLength = text.length();
+        PackedSequence packedPattern = PackedSequence.of(pattern);
         int count = 0;
 
         for (int i = 0; i < textLength - patternLength + 1; ++i) {
-            if (BA1G.HammingDistance(text.substring(i, i + patternLength), pattern) <= d) {
+            if (text.mismatches(i, packedPattern, d) <= d) {
                 ++count;
             }
         }
@@ -78,16 +89,34 @@ public class BA1H {
         return approximatePatternCountMachinery(pattern, text, d);
     }
 
+    public static int approximatePatternCount(String pattern, PackedSequence text, int d) {
+        return approximatePatternCountMachinery(pattern, text, d);
+    }
+
     public static List<Integer> approximatePatternMatching(Path path) {
         List<String> sampleDataset = UTIL.readDataset(path);
         String pattern = sampleDataset.getFirst(),
                 text = sampleDataset.get(1);
         int d = Integer.parseInt(sampleDataset.getLast());
 
-        return approximatePatternMatchingMachinery(pattern, text, d);
+        List<Integer> positions = approximatePatternMatchingMachinery(pattern, text, d);
+        UTIL.writeToFile(positions);
+
+        return positions;
     }
 
     public static List<Integer> approximatePatternMatching(String pattern, String text, int d) {
-        return approximatePatternMatchingMachinery(pattern, text, d);
+        List<Integer> positions = approximatePatternMatchingMachinery(pattern, text, d);
+        UTIL.writeToFile(positions);
+
+        return positions;
+    }
+
+    public static List<Integer>
+    approximatePatternMatching(String pattern, PackedSequence text, int d) {
+        List<Integer> positions = approximatePatternMatchingMachinery(pattern, text, d);
+        UTIL.writeToFile(positions);
+
+        return positions;
     }
 }
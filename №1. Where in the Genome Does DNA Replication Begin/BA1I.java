@@ -36,45 +36,22 @@
 // GATG ATGC ATGT
 // -------------
 
+import auxil.FrequentWordsEngine;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.*;
 
 public class BA1I {
 
     private static List<String> frequentWordsWithMismatchesMachinery(String text, int k, int d) {
-        int numKMers = (int)Math.pow(4, k);
-        int textLength = text.length();
-        int[] close = new int[numKMers];
-        int[] frequencyArray = new int[numKMers];
+        long[] frequentCodes = new FrequentWordsEngine(k, d, false)
+                .frequentWords(PackedSequence.of(text));
         List<String> frequentPatterns = new ArrayList<>();
 
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            List<String> neighborhood = BA1N.neighbors(text.substring(i, i + k), d);
-
-            for (String pattern : neighborhood) {
-                int index = (int)BA1L.patternToNumber(pattern);
-                close[index] = 1;
-            }
-        }
-
-        for (int i = 0; i < numKMers; ++i) {
-            if (close[i] == 1) {
-                String pattern = BA1M.numberToPattern(i, k);
-                frequencyArray[i] = BA1H.approximatePatternMatching(pattern, text, d).size();
-            }
-        }
-        int maxCount = Arrays
-                .stream(frequencyArray)
-                .max()
-                .orElse(-1);
-
-        for (int i = 0; i < numKMers; ++i) {
-            if (frequencyArray[i] == maxCount) {
-                String pattern = BA1M.numberToPattern(i, k);
-                frequentPatterns.add(pattern);
-            }
+        for (long code : frequentCodes) {
+            frequentPatterns.add(PackedSequence.decode(code, k));
         }
-        UTIL.writeToFile(frequentPatterns);
 
         return frequentPatterns;
     }
@@ -84,11 +61,13 @@ public class BA1I {
         String text = sampleDataset.getFirst();
         List<Integer> intParams = UTIL.parseIntArray(sampleDataset.getLast());
 
-        return frequentWordsWithMismatchesMachinery(text, intParams.getFirst(),
-                intParams.getLast());
+        return frequentWordsWithMismatches(text, intParams.getFirst(), intParams.getLast());
     }
 
     public static List<String> frequentWordsWithMismatches(String text, int k, int d) {
-        return frequentWordsWithMismatchesMachinery(text, k, d);
+        List<String> frequentPatterns = frequentWordsWithMismatchesMachinery(text, k, d);
+        UTIL.writeToFile(frequentPatterns);
+
+        return frequentPatterns;
     }
 }
@@ -26,6 +26,9 @@
 // ATGT ACAT
 // -------------
 
+import auxil.FrequentWordsEngine;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.*;
 
@@ -33,41 +36,13 @@ public class BA1J {
 
     private static List<String>
     frequentWordsWithMismatchesAndReverseComplementsMachinery(String text, int k, int d) {
-        int textLength = text.length();
-        int numKMers = (int)Math.pow(4, k);
-        int[] close = new int[numKMers];
-        int[] frequencyArray = new int[numKMers];
+        long[] frequentCodes = new FrequentWordsEngine(k, d, true)
+                .frequentWords(PackedSequence.of(text));
         List<String> frequentPatterns = new ArrayList<>();
 
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            List<String> neighborhood = BA1N.neighbors(text.substring(i, i + k), d);
-
-            for (String pattern : neighborhood) {
-                int index = (int)BA1L.patternToNumber(pattern);
-                close[index] = 1;
-            }
-        }
-
-        for (int i = 0; i < numKMers; ++i) {
-            if (close[i] == 1) {
-                String pattern = BA1M.numberToPattern(i, k);
-                String patternRevComp = BA1C.reverseComplement(pattern);
-                frequencyArray[i] = BA1H.approximatePatternCount(pattern, text, d) +
-                        BA1H.approximatePatternCount(patternRevComp, text, d);
-            }
-        }
-        int maxCount = Arrays
-                .stream(frequencyArray)
-                .max()
-                .orElse(-1);
-
-        for (int i = 0; i < numKMers; ++i) {
-            if (frequencyArray[i] == maxCount) {
-                String pattern = BA1M.numberToPattern(i, k);
-                frequentPatterns.add(pattern);
-            }
+        for (long code : frequentCodes) {
+            frequentPatterns.add(PackedSequence.decode(code, k));
         }
-        UTIL.writeToFile(frequentPatterns);
 
         return frequentPatterns;
     }
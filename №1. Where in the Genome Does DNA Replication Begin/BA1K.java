@@ -25,28 +25,28 @@
 // 2 1 0 0 0 0 2 2 1 2 1 0 0 1 1 0
 // -------------
 
+import auxil.KMerCounter;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class BA1K {
 
-    private static List<Integer> computingFrequenciesMachinery(String text, int k) {
-        int textLength = text.length();
-        List<Integer> frequencyArray = new ArrayList<>();
-        for (int i = 0; i < Math.pow(4, k); ++i) {
-            frequencyArray.add(0);
-        }
-
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            String pattern = text.substring(i, i + k);
-            int j = (int)BA1L.patternToNumber(pattern);
-            frequencyArray.set(j, frequencyArray.get(j) + 1);
-        }
+    private static List<Integer> toFrequencyList(KMerCounter counter) {
+        return Arrays
+                .stream(counter.toArray())
+                .boxed()
+                .toList();
+    }
 
-        UTIL.writeToFile(frequencyArray);
+    private static List<Integer> computingFrequenciesMachinery(String text, int k) {
+        return toFrequencyList(new KMerCounter(k, Long.MAX_VALUE).count(text));
+    }
 
-        return frequencyArray;
+    private static List<Integer> computingFrequenciesMachinery(PackedSequence text, int k) {
+        return toFrequencyList(new KMerCounter(k, Long.MAX_VALUE).count(text));
     }
 
     public static List<Integer> computingFrequencies(Path path) {
@@ -54,10 +54,31 @@ public class BA1K {
         String text = sampleDataset.getFirst();
         int k = Integer.parseInt(sampleDataset.getLast());
 
-        return computingFrequenciesMachinery(text, k);
+        List<Integer> frequencyArray = computingFrequenciesMachinery(text, k);
+        UTIL.writeToFile(frequencyArray);
+
+        return frequencyArray;
     }
 
     public static List<Integer> computingFrequencies(String text, int k) {
-        return computingFrequenciesMachinery(text, k);
+        List<Integer> frequencyArray = computingFrequenciesMachinery(text, k);
+        UTIL.writeToFile(frequencyArray);
+
+        return frequencyArray;
+    }
+
+    public static List<Integer> computingFrequencies(PackedSequence text, int k) {
+        List<Integer> frequencyArray = computingFrequenciesMachinery(text, k);
+        UTIL.writeToFile(frequencyArray);
+
+        return frequencyArray;
+    }
+
+    public static KMerCounter countKMers(PackedSequence text, int k, long memoryBudget) {
+        return new KMerCounter(k, memoryBudget).count(text);
+    }
+
+    public static KMerCounter countKMers(PackedSequence text, int k) {
+        return new KMerCounter(k).count(text);
     }
 }
@@ -38,25 +38,25 @@ public class BA1L {
                 };
     }
 
-    private static long patternToNumber(String pattern, int n) {
-        if (n == 0) {
-            return 0;
-        }
+    private static long patternToNumberMachinery(String pattern) {
+        int patternLength = pattern.length();
+        long number = 0;
 
-        char symbol = pattern.charAt(n - 1);
-        String prefix = pattern.substring(0, n - 1);
+        for (int i = 0; i < patternLength; ++i) {
+            number = 4 * number + symbolToNumber(pattern.charAt(i));
+        }
 
-        return 4 * patternToNumber(prefix) + symbolToNumber(symbol);
+        return number;
     }
 
     public static long patternToNumber(Path path) {
         List<String> sampleDataset = UTIL.readDataset(path);
         String pattern = sampleDataset.getFirst();
 
-        return patternToNumber(pattern, pattern.length());
+        return patternToNumberMachinery(pattern);
     }
 
     public static long patternToNumber(String pattern) {
-        return patternToNumber(pattern, pattern.length());
+        return patternToNumberMachinery(pattern);
     }
 }
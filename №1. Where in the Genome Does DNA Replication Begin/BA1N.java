@@ -33,15 +33,19 @@
 // ACG
 // -------------
 
+import auxil.Neighborhood;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 public class BA1N {
 
     private static final List<String> nucleotides = List.of("A", "C", "G", "T");
 
-    private static List<String> neighborsMachinery(String pattern, int d) {
+    private static List<String> neighborsRecursive(String pattern, int d) {
         if (d == 0) {
             return List.of(pattern);
         }
@@ -52,7 +56,7 @@ public class BA1N {
         List<String> neighborhood = new ArrayList<>();
         String firstSymbol = Character.toString(pattern.charAt(0));
         String suffix = pattern.substring(1);
-        List<String> suffixNeighborhood = neighborsMachinery(suffix, d);
+        List<String> suffixNeighborhood = neighborsRecursive(suffix, d);
 
         for (String neighbor : suffixNeighborhood) {
             if (BA1G.HammingDistance(suffix, neighbor) < d) {
@@ -67,6 +71,23 @@ public class BA1N {
         return neighborhood;
     }
 
+    private static List<String> neighborsMachinery(String pattern, int d) {
+        int k = pattern.length();
+        if (k > PackedSequence.MAX_K) {
+            return neighborsRecursive(pattern, d);
+        }
+        List<String> neighborhood = new ArrayList<>((int)Math.min(Neighborhood.size(k, d), 1 << 20));
+
+        Neighborhood.forEach(PackedSequence.encode(pattern), k, d,
+                code -> neighborhood.add(PackedSequence.decode(code, k)));
+
+        return neighborhood;
+    }
+
+    public static void neighbors(long code, int k, int d, LongConsumer consumer) {
+        Neighborhood.forEach(code, k, d, consumer);
+    }
+
     public static List<String> neighbors(String pattern, int d) {
         List<String> neighborhood = neighborsMachinery(pattern, d);
 
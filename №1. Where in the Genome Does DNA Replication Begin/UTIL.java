@@ -1,5 +1,7 @@
-import java.io.FileWriter;
+import auxil.ResultSink;
+
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -8,6 +10,20 @@ import java.util.List;
 
 public class UTIL {
 
+    private static volatile ResultSink resultSink = ResultSink.file(Path.of(""));
+
+    public static void setResultSink(ResultSink sink) {
+        resultSink = sink;
+    }
+
+    public static ResultSink getResultSink() {
+        return resultSink;
+    }
+
+    public static Writer openResultWriter(String name) throws IOException {
+        return getResultSink().open(name);
+    }
+
     public static List<String> readDataset(Path path) {
         List<String> sampleDataset;
 
@@ -22,7 +38,10 @@ public class UTIL {
     }
 
     public static <T> void writeToFile(Collection<T> elems) {
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        if (!getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = openResultWriter("answer.txt")) {
             for (T elem : elems) {
                 fileWriter.write("%s ".formatted(elem));
             }
@@ -33,7 +52,10 @@ public class UTIL {
     }
 
     public static <T> void writeToFileWithNewlines(Collection<T> elems) {
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        if (!getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = openResultWriter("answer.txt")) {
             for (T elem : elems) {
                 fileWriter.write("%s\n".formatted(elem));
             }
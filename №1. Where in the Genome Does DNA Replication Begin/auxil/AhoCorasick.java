@@ -0,0 +1,154 @@
+package auxil;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Aho-Corasick automaton over the nucleotide alphabet. The trie of all patterns is completed into
+// a DFA (every state has a transition for each of A, C, G, T), so the text is consumed one symbol
+// at a time with a single table lookup. Matches are reported through dictionary suffix links, and
+// the automaton keeps its state between pushes, so a genome can be fed in chunks or streamed from
+// a memory mapped file. Any non-ACGT symbol of the text breaks all matches going through it.
+
+public class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final int[] patternLengths;
+    private final int[] next;
+    private final int[] outputHead;
+    private final int[] outputNext;
+    private final int[] dictionaryLink;
+    private final MatchConsumer onMatch;
+    private int state = ROOT;
+    private int position;
+
+    public AhoCorasick(List<String> patterns, MatchConsumer onMatch) {
+        int numPatterns = patterns.size(), maxStates = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new RuntimeException("Patterns must not be empty");
+            }
+            maxStates += pattern.length();
+        }
+        this.patternLengths = new int[numPatterns];
+        this.outputNext = new int[numPatterns];
+        this.onMatch = onMatch;
+
+        int[] trie = new int[4 * maxStates];
+        int[] heads = new int[maxStates];
+        Arrays.fill(trie, NONE);
+        Arrays.fill(heads, NONE);
+        int numStates = 1;
+
+        for (int i = 0; i < numPatterns; ++i) {
+            String pattern = patterns.get(i);
+            int current = ROOT;
+            for (int j = 0; j < pattern.length(); ++j) {
+                int symbolCode = PackedSequence.symbolToCode(pattern.charAt(j));
+                if (symbolCode < 0) {
+                    throw new RuntimeException("Incorrect nucleotide: %c".formatted(pattern.charAt(j)));
+                }
+                if (trie[4 * current + symbolCode] == NONE) {
+                    trie[4 * current + symbolCode] = numStates++;
+                }
+                current = trie[4 * current + symbolCode];
+            }
+            patternLengths[i] = pattern.length();
+            outputNext[i] = heads[current];
+            heads[current] = i;
+        }
+
+        this.next = Arrays.copyOf(trie, 4 * numStates);
+        this.outputHead = Arrays.copyOf(heads, numStates);
+        this.dictionaryLink = new int[numStates];
+        buildLinks(numStates);
+    }
+
+    private void buildLinks(int numStates) {
+        int[] fail = new int[numStates];
+        int[] queue = new int[numStates];
+        int head = 0, tail = 0;
+        dictionaryLink[ROOT] = NONE;
+
+        for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+            int child = next[symbolCode];
+            if (child == NONE) {
+                next[symbolCode] = ROOT;
+            } else {
+                fail[child] = ROOT;
+                dictionaryLink[child] = NONE;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                int child = next[4 * current + symbolCode];
+                int fallback = next[4 * fail[current] + symbolCode];
+                if (child == NONE) {
+                    next[4 * current + symbolCode] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    dictionaryLink[child] = (outputHead[fallback] != NONE)
+                            ? fallback : dictionaryLink[fallback];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    public void push(char symbol) {
+        int symbolCode = PackedSequence.symbolToCode(symbol);
+        push(Math.max(symbolCode, 0), symbolCode < 0);
+    }
+
+    public void push(int symbolCode, boolean ambiguous) {
+        state = ambiguous ? ROOT : next[4 * state + symbolCode];
+        for (int match = state; match != NONE; match = dictionaryLink[match]) {
+            for (int i = outputHead[match]; i != NONE; i = outputNext[i]) {
+                onMatch.accept(i, position - patternLengths[i] + 1);
+            }
+        }
+        ++position;
+    }
+
+    public AhoCorasick scan(CharSequence text) {
+        int textLength = text.length();
+        for (int i = 0; i < textLength; ++i) {
+            push(text.charAt(i));
+        }
+
+        return this;
+    }
+
+    public AhoCorasick scan(PackedSequence text) {
+        int textLength = text.length();
+        for (int i = 0; i < textLength; ++i) {
+            push(text.codeAt(i), text.isAmbiguous(i));
+        }
+
+        return this;
+    }
+
+    public AhoCorasick scan(MappedFasta text) {
+        text.forEachSymbol(this::push);
+
+        return this;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void reset() {
+        state = ROOT;
+        position = 0;
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        void accept(int patternIndex, int position);
+    }
+}
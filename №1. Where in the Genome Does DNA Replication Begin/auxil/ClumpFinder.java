@@ -0,0 +1,113 @@
+package auxil;
+
+// Single pass (L, t)-clump finder. The window keeps a count for each k-mer it contains and slides
+// by one k-mer in and one k-mer out per base; the k-mers leaving the window are kept in a ring
+// buffer of L - k + 1 codes. Every distinct clump-forming k-mer is reported once, together with
+// the start of the first window in which it forms a clump.
+
+public class ClumpFinder {
+
+    private final int k;
+    private final int L;
+    private final int t;
+    private final long mask;
+    private final KMerConsumer onClump;
+    private final KMerCounter window;
+    private final LongIntHashMap reported = new LongIntHashMap();
+    private final long[] ring;
+    private final boolean[] ringValid;
+    private long code;
+    private int valid;
+    private int position;
+
+    public ClumpFinder(int k, int L, int t, KMerConsumer onClump) {
+        if (k > L) {
+            throw new RuntimeException("k-mer is longer than the window");
+        }
+        this.k = k;
+        this.L = L;
+        this.t = t;
+        this.mask = PackedSequence.kMerMask(k);
+        this.onClump = onClump;
+        this.window = new KMerCounter(k);
+        this.ring = new long[L - k + 1];
+        this.ringValid = new boolean[L - k + 1];
+    }
+
+    public void push(char symbol) {
+        int symbolCode = PackedSequence.symbolToCode(symbol);
+        valid = (symbolCode < 0) ? 0 : valid + 1;
+        code = ((code << 2) | Math.max(symbolCode, 0)) & mask;
+        pushKMer(valid >= k);
+        ++position;
+    }
+
+    public void push(int symbolCode, boolean ambiguous) {
+        valid = ambiguous ? 0 : valid + 1;
+        code = ((code << 2) | symbolCode) & mask;
+        pushKMer(valid >= k);
+        ++position;
+    }
+
+    private void pushKMer(boolean isValid) {
+        int start = position - k + 1;
+        if (start < 0) {
+            return;
+        }
+        int slot = start % ring.length;
+        if (start >= ring.length && ringValid[slot]) {
+            window.remove(ring[slot]);
+        }
+        ring[slot] = code;
+        ringValid[slot] = isValid;
+        if (isValid) {
+            window.add(code);
+        }
+
+        int windowStart = start - (L - k);
+        if (windowStart == 0) {
+            for (int i = 0; i < ring.length; ++i) {
+                if (ringValid[i]) {
+                    reportIfClump(ring[i], 0);
+                }
+            }
+        } else if (windowStart > 0 && isValid) {
+            reportIfClump(code, windowStart);
+        }
+    }
+
+    private void reportIfClump(long code, int windowStart) {
+        if (window.get(code) >= t && !reported.containsKey(code)) {
+            reported.put(code, windowStart);
+            onClump.accept(windowStart, code);
+        }
+    }
+
+    public ClumpFinder scan(CharSequence genome) {
+        int genomeLength = genome.length();
+        for (int i = 0; i < genomeLength; ++i) {
+            push(genome.charAt(i));
+        }
+
+        return this;
+    }
+
+    public ClumpFinder scan(PackedSequence genome) {
+        int genomeLength = genome.length();
+        for (int i = 0; i < genomeLength; ++i) {
+            push(genome.codeAt(i), genome.isAmbiguous(i));
+        }
+
+        return this;
+    }
+
+    public ClumpFinder scan(MappedFasta genome) {
+        genome.forEachSymbol(this::push);
+
+        return this;
+    }
+
+    public int clumpsFound() {
+        return reported.size();
+    }
+}
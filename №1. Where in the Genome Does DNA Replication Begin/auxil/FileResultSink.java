@@ -0,0 +1,24 @@
+package auxil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class FileResultSink implements ResultSink {
+
+    private final Path directory;
+
+    public FileResultSink(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Writer open(String name) throws IOException {
+        return Files.newBufferedWriter(directory.resolve(name));
+    }
+}
@@ -0,0 +1,105 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.LongConsumer;
+
+// Frequent words with mismatches (and optionally reverse complements) in one pass over the text:
+// every window votes for each k-mer of its d-neighborhood (and of the d-neighborhood of its reverse
+// complement), so Count_d of every k-mer is accumulated without rescanning the text. When the
+// dense int[4^k] table fits in the memory budget, the windows are split into contiguous chunks
+// whose threads all vote into that one table with atomic increments, so adding threads adds no
+// memory. Otherwise a single thread counts into a hash map, which holds every distinct neighbor
+// and is not bounded by the budget.
+
+public class FrequentWordsEngine {
+
+    private final int k;
+    private final int d;
+    private final boolean reverseComplements;
+    private final int threads;
+    private final long memoryBudget;
+
+    public FrequentWordsEngine(int k, int d, boolean reverseComplements) {
+        this(k, d, reverseComplements, Tasks.POOL_SIZE, KMerCounter.DEFAULT_MEMORY_BUDGET);
+    }
+
+    private FrequentWordsEngine(int k, int d, boolean reverseComplements, int threads,
+                                long memoryBudget) {
+        this.k = k;
+        this.d = d;
+        this.reverseComplements = reverseComplements;
+        this.threads = Math.max(1, threads);
+        this.memoryBudget = memoryBudget;
+    }
+
+    public FrequentWordsEngine withThreads(int threads) {
+        return new FrequentWordsEngine(k, d, reverseComplements, threads, memoryBudget);
+    }
+
+    public FrequentWordsEngine withMemoryBudget(long memoryBudget) {
+        return new FrequentWordsEngine(k, d, reverseComplements, threads, memoryBudget);
+    }
+
+    private void countChunk(PackedSequence text, int from, int to, LongConsumer vote) {
+        text.forEachKMer(from, to, k, (position, code) -> {
+            Neighborhood.forEach(code, k, d, vote);
+            if (reverseComplements) {
+                Neighborhood.forEach(PackedSequence.reverseComplement(code, k), k, d, vote);
+            }
+        });
+    }
+
+    public KMerCounter count(PackedSequence text) {
+        KMerCounter counter = new KMerCounter(k, memoryBudget);
+        int numKMers = text.length() - k + 1;
+        if (numKMers < 1) {
+            return counter;
+        }
+        if (!counter.isDense()) {
+            countChunk(text, 0, text.length(), counter::add);
+            return counter;
+        }
+        int numChunks = Math.min(threads, numKMers);
+        List<Callable<Boolean>> tasks = new ArrayList<>(numChunks);
+
+        for (int i = 0; i < numChunks; ++i) {
+            int from = (int)((long)numKMers * i / numChunks),
+                    to = (int)((long)numKMers * (i + 1) / numChunks) + k - 1;
+            tasks.add(() -> {
+                countChunk(text, from, to, counter::addConcurrently);
+                return true;
+            });
+        }
+        Tasks.getFutureResults(numChunks, tasks);
+
+        return counter;
+    }
+
+    public long[] frequentWords(PackedSequence text) {
+        KMerCounter counter = count(text);
+        int maxCount = counter.maxCount();
+        if (maxCount == 0) {
+            return new long[0];
+        }
+        int[] numFrequentWords = new int[1];
+
+        counter.forEach((code, count) -> {
+            if (count == maxCount) {
+                ++numFrequentWords[0];
+            }
+        });
+        long[] frequentWords = new long[numFrequentWords[0]];
+        numFrequentWords[0] = 0;
+        counter.forEach((code, count) -> {
+            if (count == maxCount) {
+                frequentWords[numFrequentWords[0]++] = code;
+            }
+        });
+        Arrays.sort(frequentWords);
+
+        return frequentWords;
+    }
+}
@@ -0,0 +1,35 @@
+package auxil;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps the last content written to every name, e.g. to check answers without touching the disk
+
+public class InMemoryResultSink implements ResultSink {
+
+    private final Map<String, String> contents = new ConcurrentHashMap<>();
+
+    @Override
+    public Writer open(String name) {
+        return new StringWriter() {
+            @Override
+            public void close() {
+                contents.put(name, toString());
+            }
+        };
+    }
+
+    public String get(String name) {
+        return contents.getOrDefault(name, "");
+    }
+
+    public Map<String, String> getContents() {
+        return Map.copyOf(contents);
+    }
+
+    public void clear() {
+        contents.clear();
+    }
+}
@@ -0,0 +1,7 @@
+package auxil;
+
+@FunctionalInterface
+public interface KMerConsumer {
+
+    void accept(int position, long code);
+}
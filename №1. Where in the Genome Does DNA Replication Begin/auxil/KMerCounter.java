@@ -0,0 +1,148 @@
+package auxil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Streaming k-mer counter. Codes are updated in O(1) per base by shift and mask; counts go to a
+// dense int[4^k] table while it fits in the memory budget, and to a LongIntHashMap otherwise. The
+// hash map grows with the number of distinct k-mers and is not bounded by the budget. A dense table
+// can also be shared by several threads through addConcurrently.
+
+public class KMerCounter {
+
+    private static final VarHandle TABLE_ELEMENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    public static final long DEFAULT_MEMORY_BUDGET = 1L << 28;
+    private static final int MAX_DENSE_K = 15;
+
+    private final int k;
+    private final long mask;
+    private final int[] table;
+    private final LongIntHashMap map;
+    private long code;
+    private int valid;
+
+    public KMerCounter(int k) {
+        this(k, DEFAULT_MEMORY_BUDGET);
+    }
+
+    public KMerCounter(int k, long memoryBudget) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.mask = PackedSequence.kMerMask(k);
+        if (k <= MAX_DENSE_K && (4L << (2 * k)) <= memoryBudget) {
+            this.table = new int[1 << (2 * k)];
+            this.map = null;
+        } else {
+            this.table = null;
+            this.map = new LongIntHashMap();
+        }
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public boolean isDense() {
+        return table != null;
+    }
+
+    public void push(char symbol) {
+        int symbolCode = PackedSequence.symbolToCode(symbol);
+        if (symbolCode < 0) {
+            reset();
+            return;
+        }
+        code = ((code << 2) | symbolCode) & mask;
+        if (++valid >= k) {
+            add(code);
+        }
+    }
+
+    public void reset() {
+        code = 0;
+        valid = 0;
+    }
+
+    public int add(long code) {
+        return (table != null) ? ++table[(int)code] : map.addTo(code, 1);
+    }
+
+    public int add(long code, int times) {
+        return (table != null) ? table[(int)code] += times : map.addTo(code, times);
+    }
+
+    public KMerCounter addAll(KMerCounter other) {
+        if (other.k != k) {
+            throw new RuntimeException("Counters of %d-mers and %d-mers can't be merged"
+                    .formatted(k, other.k));
+        }
+        other.forEach(this::add);
+
+        return this;
+    }
+
+    // Atomic increment of a dense table, safe to call from several threads at once
+    public int addConcurrently(long code) {
+        if (table == null) {
+            throw new RuntimeException("Only a dense counter can be shared between threads");
+        }
+
+        return (int)TABLE_ELEMENT.getAndAdd(table, (int)code, 1) + 1;
+    }
+
+    public int remove(long code) {
+        return (table != null) ? --table[(int)code] : map.addTo(code, -1);
+    }
+
+    public KMerCounter count(CharSequence text) {
+        int textLength = text.length();
+        reset();
+        for (int i = 0; i < textLength; ++i) {
+            push(text.charAt(i));
+        }
+        reset();
+
+        return this;
+    }
+
+    public KMerCounter count(PackedSequence sequence) {
+        sequence.forEachKMer(k, (position, code) -> add(code));
+
+        return this;
+    }
+
+    public int get(long code) {
+        return (table != null) ? table[(int)code] : map.get(code);
+    }
+
+    public int maxCount() {
+        int[] maxCount = new int[1];
+        forEach((code, count) -> maxCount[0] = Math.max(maxCount[0], count));
+
+        return maxCount[0];
+    }
+
+    public void forEach(LongIntHashMap.LongIntConsumer consumer) {
+        if (table != null) {
+            for (int i = 0; i < table.length; ++i) {
+                if (table[i] != 0) {
+                    consumer.accept(i, table[i]);
+                }
+            }
+        } else {
+            map.forEach(consumer);
+        }
+    }
+
+    public int[] toArray() {
+        if (table == null) {
+            throw new RuntimeException("Frequency array of %d-mers doesn't fit in memory budget"
+                    .formatted(k));
+        }
+
+        return table.clone();
+    }
+}
@@ -0,0 +1,163 @@
+package auxil;
+
+import java.util.Arrays;
+
+// Open addressing (linear probing) map from long keys to int values without boxing. Key 0 is kept
+// outside the table so that 0 can mark free slots.
+
+public class LongIntHashMap {
+
+    private static final double LOAD_FACTOR = 0.75;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsZeroKey;
+    private int zeroKeyValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int)(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+
+        return (int)key;
+    }
+
+    private int slot(long key) {
+        int i = mix(key) & mask;
+        while (keys[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return (key == 0) ? containsZeroKey : keys[slot(key)] != 0;
+    }
+
+    public int get(long key) {
+        if (key == 0) {
+            return zeroKeyValue;
+        }
+
+        return values[slot(key)];
+    }
+
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                ++size;
+            }
+            zeroKeyValue = value;
+            return;
+        }
+        int i = slot(key);
+        if (keys[i] == 0) {
+            keys[i] = key;
+            ++size;
+            values[i] = value;
+            growIfNeeded();
+        } else {
+            values[i] = value;
+        }
+    }
+
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                ++size;
+            }
+            return zeroKeyValue += delta;
+        }
+        int i = slot(key);
+        if (keys[i] == 0) {
+            keys[i] = key;
+            values[i] = delta;
+            ++size;
+            growIfNeeded();
+            return delta;
+        }
+
+        return values[i] += delta;
+    }
+
+    public void forEach(LongIntConsumer consumer) {
+        if (containsZeroKey) {
+            consumer.accept(0, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] allKeys = new long[size];
+        int j = 0;
+        if (containsZeroKey) {
+            allKeys[j++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                allKeys[j++] = key;
+            }
+        }
+
+        return allKeys;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        containsZeroKey = false;
+        zeroKeyValue = 0;
+        size = 0;
+    }
+
+    private void growIfNeeded() {
+        if (size <= LOAD_FACTOR * keys.length) {
+            return;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != 0) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface LongIntConsumer {
+
+        void accept(long key, int value);
+    }
+}
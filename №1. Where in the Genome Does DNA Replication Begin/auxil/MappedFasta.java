@@ -0,0 +1,83 @@
+package auxil;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only memory mapped FASTA (or plain sequence) file. Sequence symbols of all records are
+// streamed in file order with header lines and line breaks skipped, so a genome can be scanned
+// without ever becoming a String.
+
+public class MappedFasta {
+
+    private static final long SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final List<MappedByteBuffer> segments;
+    private final long size;
+
+    private MappedFasta(List<MappedByteBuffer> segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    public static MappedFasta open(Path path) {
+        List<MappedByteBuffer> segments = new ArrayList<>();
+        long size;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            for (long offset = 0; offset < size; offset += SEGMENT_SIZE) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(SEGMENT_SIZE, size - offset)));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map file %s".formatted(path), e);
+        }
+
+        return new MappedFasta(segments, size);
+    }
+
+    public long fileSize() {
+        return size;
+    }
+
+    public void forEachSymbol(SymbolConsumer consumer) {
+        boolean header = false, lineStart = true;
+
+        for (MappedByteBuffer segment : segments) {
+            int segmentSize = segment.limit();
+            for (int i = 0; i < segmentSize; ++i) {
+                char symbol = (char)(segment.get(i) & 0xff);
+                if (symbol == '\n' || symbol == '\r') {
+                    header = false;
+                    lineStart = true;
+                    continue;
+                }
+                if (lineStart && symbol == '>') {
+                    header = true;
+                }
+                lineStart = false;
+                if (!header && !Character.isWhitespace(symbol)) {
+                    consumer.accept(symbol);
+                }
+            }
+        }
+    }
+
+    public PackedSequence toPackedSequence() {
+        PackedSequence.Builder builder = new PackedSequence.Builder((int)Math.min(size, 1 << 30));
+        forEachSymbol(builder::append);
+
+        return builder.build();
+    }
+
+    @FunctionalInterface
+    public interface SymbolConsumer {
+
+        void accept(char symbol);
+    }
+}
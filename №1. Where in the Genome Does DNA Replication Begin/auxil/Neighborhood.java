@@ -0,0 +1,126 @@
+package auxil;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+// d-neighborhood of a packed k-mer enumerated as integer codes. Every neighbor is produced exactly
+// once: first the k-mer itself, then for m = 1..d every set of m mismatch positions (in
+// lexicographic order) combined with every choice of the 3 other nucleotides at those positions.
+// The iterator is reusable through reset and allocates nothing after construction.
+
+public class Neighborhood implements PrimitiveIterator.OfLong {
+
+    private final int k;
+    private final int d;
+    private final int[] positions;
+    private final int[] substitutions;
+    private long center;
+    private int mismatches;
+    private boolean started;
+    private boolean exhausted;
+
+    public Neighborhood(int k, int d) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.d = Math.min(d, k);
+        this.positions = new int[this.d];
+        this.substitutions = new int[this.d];
+        this.exhausted = true;
+    }
+
+    public Neighborhood reset(long code) {
+        center = code;
+        mismatches = 0;
+        started = false;
+        exhausted = false;
+
+        return this;
+    }
+
+    public static void forEach(long code, int k, int d, LongConsumer consumer) {
+        forEach(code, k, 0, Math.min(d, k), consumer);
+    }
+
+    private static void forEach(long code, int k, int from, int d, LongConsumer consumer) {
+        consumer.accept(code);
+        if (d == 0) {
+            return;
+        }
+        for (int i = from; i < k; ++i) {
+            int shift = 2 * (k - 1 - i);
+            for (long substitution = 1; substitution < 4; ++substitution) {
+                forEach(code ^ (substitution << shift), k, i + 1, d - 1, consumer);
+            }
+        }
+    }
+
+    public static long size(int k, int d) {
+        long size = 0, combinations = 1, power = 1;
+        for (int m = 0; m <= Math.min(d, k); ++m) {
+            size += combinations * power;
+            combinations = combinations * (k - m) / (m + 1);
+            power *= 3;
+        }
+
+        return size;
+    }
+
+    private boolean advance() {
+        for (int i = mismatches - 1; i > -1; --i) {
+            if (substitutions[i] < 3) {
+                ++substitutions[i];
+                return true;
+            }
+            substitutions[i] = 1;
+        }
+        for (int i = mismatches - 1; i > -1; --i) {
+            if (positions[i] < k - mismatches + i) {
+                ++positions[i];
+                for (int j = i + 1; j < mismatches; ++j) {
+                    positions[j] = positions[j - 1] + 1;
+                }
+                return true;
+            }
+        }
+        if (mismatches == d) {
+            return false;
+        }
+        ++mismatches;
+        for (int i = 0; i < mismatches; ++i) {
+            positions[i] = i;
+            substitutions[i] = 1;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (exhausted) {
+            return false;
+        }
+        if (started) {
+            started = false;
+            exhausted = !advance();
+        }
+
+        return !exhausted;
+    }
+
+    @Override
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        started = true;
+        long code = center;
+        for (int i = 0; i < mismatches; ++i) {
+            code ^= (long)substitutions[i] << (2 * (k - 1 - positions[i]));
+        }
+
+        return code;
+    }
+}
@@ -0,0 +1,291 @@
+package auxil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Nucleotide sequence packed 2 bits per base (A = 0, C = 1, G = 2, T = 3, same order as BA1L),
+// 32 bases per long. Any other symbol (N, IUPAC ambiguity codes) is stored as A and flagged in a
+// separate 1 bit per base mask, which is allocated only if such a symbol occurs.
+
+public class PackedSequence {
+
+    public static final int BASES_PER_WORD = 32;
+    public static final int MAX_K = 32;
+
+    private final long[] words;
+    private final long[] ambiguous;
+    private final int length;
+
+    private PackedSequence(long[] words, long[] ambiguous, int length) {
+        this.words = words;
+        this.ambiguous = ambiguous;
+        this.length = length;
+    }
+
+    public static int symbolToCode(char symbol) {
+        return
+                switch (symbol) {
+                    case 'A', 'a' -> 0;
+                    case 'C', 'c' -> 1;
+                    case 'G', 'g' -> 2;
+                    case 'T', 't' -> 3;
+                    default -> -1;
+                };
+    }
+
+    public static char codeToSymbol(int code) {
+        return
+                switch (code) {
+                    case 0 -> 'A';
+                    case 1 -> 'C';
+                    case 2 -> 'G';
+                    case 3 -> 'T';
+                    default -> throw new RuntimeException("Incorrect code: %d".formatted(code));
+                };
+    }
+
+    public static long encode(CharSequence pattern) {
+        int k = pattern.length();
+        if (k > MAX_K) {
+            throw new RuntimeException("Pattern is longer than %d bases".formatted(MAX_K));
+        }
+        long code = 0;
+
+        for (int i = 0; i < k; ++i) {
+            int symbolCode = symbolToCode(pattern.charAt(i));
+            if (symbolCode < 0) {
+                throw new RuntimeException("Incorrect nucleotide: %c".formatted(pattern.charAt(i)));
+            }
+            code = (code << 2) | symbolCode;
+        }
+
+        return code;
+    }
+
+    public static String decode(long code, int k) {
+        char[] pattern = new char[k];
+
+        for (int i = k - 1; i > -1; --i) {
+            pattern[i] = codeToSymbol((int)(code & 3));
+            code >>>= 2;
+        }
+
+        return new String(pattern);
+    }
+
+    public static long reverseComplement(long code, int k) {
+        long reversed = Long.reverse(~code);
+        reversed = ((reversed >>> 1) & 0x5555555555555555L) | ((reversed & 0x5555555555555555L) << 1);
+
+        return reversed >>> (64 - 2 * k);
+    }
+
+    public static long kMerMask(int k) {
+        return (k == MAX_K) ? -1L : (1L << (2 * k)) - 1;
+    }
+
+    public static PackedSequence of(CharSequence sequence) {
+        Builder builder = new Builder(sequence.length());
+        builder.append(sequence);
+
+        return builder.build();
+    }
+
+    public static PackedSequence read(Path path) {
+        Builder builder = new Builder(1 << 16);
+
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(">")) {
+                    builder.append(line.strip());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to read file lines");
+            return new Builder(0).build();
+        }
+
+        return builder.build();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int codeAt(int i) {
+        return (int)(words[i >>> 5] >>> (62 - 2 * (i & 31))) & 3;
+    }
+
+    public boolean isAmbiguous(int i) {
+        return ambiguous != null && (ambiguous[i >>> 6] & (1L << (i & 63))) != 0;
+    }
+
+    public boolean hasAmbiguity() {
+        return ambiguous != null;
+    }
+
+    public char charAt(int i) {
+        return isAmbiguous(i) ? 'N' : codeToSymbol(codeAt(i));
+    }
+
+    public long kMerAt(int i, int k) {
+        int shift = 2 * (i & 31);
+        long hi = words[i >>> 5] << shift;
+        if (shift + 2 * k > 64) {
+            hi |= words[(i >>> 5) + 1] >>> (64 - shift);
+        }
+
+        return (k == 0) ? 0 : hi >>> (64 - 2 * k);
+    }
+
+    public boolean isUnambiguous(int from, int to) {
+        if (ambiguous == null) {
+            return true;
+        }
+        for (int i = from; i < to; ++i) {
+            if (isAmbiguous(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean regionMatches(int offset, PackedSequence pattern) {
+        int patternLength = pattern.length;
+        for (int i = 0; i < patternLength; i += MAX_K) {
+            int k = Math.min(MAX_K, patternLength - i);
+            if (kMerAt(offset + i, k) != pattern.kMerAt(i, k)) {
+                return false;
+            }
+        }
+
+        return isUnambiguous(offset, offset + patternLength) && !pattern.hasAmbiguity();
+    }
+
+    public int mismatches(int offset, PackedSequence pattern) {
+        return mismatches(offset, pattern, 0, pattern.length, Integer.MAX_VALUE);
+    }
+
+    public int mismatches(int offset, PackedSequence pattern, int limit) {
+        return mismatches(offset, pattern, 0, pattern.length, limit);
+    }
+
+    // Compares 32 bases per step and stops once more than limit mismatches are found, in which
+    // case the returned value only guarantees to exceed limit
+    public int mismatches(int offset, PackedSequence other, int otherOffset, int length, int limit) {
+        int mismatches = 0;
+        for (int i = 0; i < length && mismatches <= limit; i += MAX_K) {
+            int k = Math.min(MAX_K, length - i);
+            mismatches += mismatches(kMerAt(offset + i, k), other.kMerAt(otherOffset + i, k));
+        }
+        if (mismatches <= limit && (ambiguous != null || other.ambiguous != null)) {
+            for (int i = 0; i < length; ++i) {
+                if ((isAmbiguous(offset + i) || other.isAmbiguous(otherOffset + i))
+                        && codeAt(offset + i) == other.codeAt(otherOffset + i)) {
+                    ++mismatches;
+                }
+            }
+        }
+
+        return mismatches;
+    }
+
+    public static int mismatches(long fCode, long sCode) {
+        long diff = fCode ^ sCode;
+
+        return Long.bitCount((diff | (diff >>> 1)) & 0x5555555555555555L);
+    }
+
+    public void forEachKMer(int k, KMerConsumer consumer) {
+        forEachKMer(0, length, k, consumer);
+    }
+
+    public void forEachKMer(int from, int to, int k, KMerConsumer consumer) {
+        if (k < 1 || k > MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(MAX_K));
+        }
+        long mask = kMerMask(k), code = 0;
+        int valid = 0;
+
+        for (int i = from; i < to; ++i) {
+            code = ((code << 2) | codeAt(i)) & mask;
+            valid = isAmbiguous(i) ? 0 : valid + 1;
+            if (valid >= k) {
+                consumer.accept(i - k + 1, code);
+            }
+        }
+    }
+
+    public String substring(int from, int to) {
+        StringBuilder sequence = new StringBuilder(to - from);
+        for (int i = from; i < to; ++i) {
+            sequence.append(charAt(i));
+        }
+
+        return sequence.toString();
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length);
+    }
+
+    public static class Builder {
+
+        private long[] words;
+        private long[] ambiguous;
+        private int length;
+
+        public Builder(int expectedLength) {
+            this.words = new long[Math.max(1, (expectedLength + BASES_PER_WORD - 1) / BASES_PER_WORD)];
+        }
+
+        public Builder append(char symbol) {
+            if ((length >>> 5) == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            int code = symbolToCode(symbol);
+            if (code < 0) {
+                markAmbiguous(length);
+                code = 0;
+            }
+            words[length >>> 5] |= (long)code << (62 - 2 * (length & 31));
+            ++length;
+
+            return this;
+        }
+
+        public Builder append(CharSequence sequence) {
+            int sequenceLength = sequence.length();
+            for (int i = 0; i < sequenceLength; ++i) {
+                append(sequence.charAt(i));
+            }
+
+            return this;
+        }
+
+        private void markAmbiguous(int i) {
+            int wordsNeeded = words.length / 2 + 1;
+            if (ambiguous == null) {
+                ambiguous = new long[wordsNeeded];
+            } else if (ambiguous.length < wordsNeeded) {
+                ambiguous = Arrays.copyOf(ambiguous, wordsNeeded);
+            }
+            ambiguous[i >>> 6] |= 1L << (i & 63);
+        }
+
+        public PackedSequence build() {
+            // One spare word lets kMerAt read past a word boundary without a bounds check
+            long[] packed = Arrays.copyOf(words, (length + BASES_PER_WORD - 1) / BASES_PER_WORD + 1);
+            long[] mask = (ambiguous == null) ? null
+                    : Arrays.copyOf(ambiguous, (length + 63) / 64 + 1);
+
+            return new PackedSequence(packed, mask, length);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package auxil;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+
+// Destination of the answers written by the UTIL classes. A result is written to a named target
+// (answer.txt for most problems) through the Writer returned by open, which the caller closes.
+
+public interface ResultSink {
+
+    Writer open(String name) throws IOException;
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    static ResultSink none() {
+        return new ResultSink() {
+            @Override
+            public Writer open(String name) {
+                return Writer.nullWriter();
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        };
+    }
+
+    static ResultSink stdout() {
+        return name -> new FilterWriter(new OutputStreamWriter(System.out)) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    static ResultSink file(Path directory) {
+        return new FileResultSink(directory);
+    }
+
+    static InMemoryResultSink inMemory() {
+        return new InMemoryResultSink();
+    }
+}
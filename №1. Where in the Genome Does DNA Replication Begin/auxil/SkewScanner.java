@@ -0,0 +1,154 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+// Chunked Skew scanner. Every chunk of the genome is summarised in parallel on the common
+// fork/join pool as (delta, local minimum) relative to its own start; a prefix sum over the chunk
+// deltas then gives the global minimum, and only the chunks reaching it are rescanned to collect
+// positions, so no Skew array is ever built.
+
+public class SkewScanner {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final IntUnaryOperator skewDelta;
+    private final int length;
+    private final int chunkSize;
+
+    private record ChunkSummary(int delta, int localMin) {
+    }
+
+    private SkewScanner(IntUnaryOperator skewDelta, int length, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new RuntimeException("Chunk size must be positive");
+        }
+        this.skewDelta = skewDelta;
+        this.length = length;
+        this.chunkSize = chunkSize;
+    }
+
+    private static int symbolDelta(char symbol) {
+        return
+                switch (symbol) {
+                    case 'A', 'T' -> 0;
+                    case 'C' -> -1;
+                    case 'G' -> 1;
+                    default -> throw new RuntimeException("Incorrect nucleotide: %c"
+                            .formatted(symbol));
+                };
+    }
+
+    public static SkewScanner of(CharSequence genome) {
+        return new SkewScanner(i -> symbolDelta(genome.charAt(i)), genome.length(),
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    public static SkewScanner of(PackedSequence genome) {
+        return new SkewScanner(i -> genome.isAmbiguous(i) ? 0
+                : switch (genome.codeAt(i)) {
+                    case 1 -> -1;
+                    case 2 -> 1;
+                    default -> 0;
+                }, genome.length(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public SkewScanner withChunkSize(int chunkSize) {
+        return new SkewScanner(skewDelta, length, chunkSize);
+    }
+
+    private int numChunks() {
+        return (length + chunkSize - 1) / chunkSize;
+    }
+
+    private ChunkSummary summarizeChunk(int chunk) {
+        int from = chunk * chunkSize, to = Math.min(length, from + chunkSize);
+        int skew = 0, localMin = Integer.MAX_VALUE;
+
+        for (int i = from; i < to; ++i) {
+            skew += skewDelta.applyAsInt(i);
+            localMin = Math.min(localMin, skew);
+        }
+
+        return new ChunkSummary(skew, localMin);
+    }
+
+    private List<Integer> collectPositions(int chunk, int offset, int minSkew) {
+        int from = chunk * chunkSize, to = Math.min(length, from + chunkSize);
+        int skew = offset;
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = from; i < to; ++i) {
+            skew += skewDelta.applyAsInt(i);
+            if (skew == minSkew) {
+                positions.add(i + 1);
+            }
+        }
+
+        return positions;
+    }
+
+    private ChunkSummary[] summarizeChunks() {
+        return IntStream
+                .range(0, numChunks())
+                .parallel()
+                .mapToObj(this::summarizeChunk)
+                .toArray(ChunkSummary[]::new);
+    }
+
+    private static int[] chunkOffsets(ChunkSummary[] summaries) {
+        int[] offsets = new int[summaries.length];
+        for (int i = 1; i < summaries.length; ++i) {
+            offsets[i] = offsets[i - 1] + summaries[i - 1].delta();
+        }
+
+        return offsets;
+    }
+
+    public List<Integer> minimumSkewPositions() {
+        ChunkSummary[] summaries = summarizeChunks();
+        int[] offsets = chunkOffsets(summaries);
+        int minSkew = 0;
+        for (int i = 0; i < summaries.length; ++i) {
+            minSkew = Math.min(minSkew, offsets[i] + summaries[i].localMin());
+        }
+        int finalMinSkew = minSkew;
+
+        List<Integer> minPositions = new ArrayList<>();
+        if (minSkew == 0) {
+            minPositions.add(0);
+        }
+        IntStream
+                .range(0, summaries.length)
+                .filter(i -> offsets[i] + summaries[i].localMin() == finalMinSkew)
+                .parallel()
+                .mapToObj(i -> collectPositions(i, offsets[i], finalMinSkew))
+                .forEachOrdered(minPositions::addAll);
+
+        return minPositions;
+    }
+
+    public int[] skewCurve(int step) {
+        if (step < 1) {
+            throw new RuntimeException("Step must be positive");
+        }
+        ChunkSummary[] summaries = summarizeChunks();
+        int[] offsets = chunkOffsets(summaries);
+        int[] curve = new int[length / step + 1];
+
+        IntStream.range(0, summaries.length).parallel().forEach(chunk -> {
+            int from = chunk * chunkSize, to = Math.min(length, from + chunkSize);
+            int skew = offsets[chunk];
+            for (int i = from; i < to; ++i) {
+                skew += skewDelta.applyAsInt(i);
+                if ((i + 1) % step == 0) {
+                    curve[(i + 1) / step] = skew;
+                }
+            }
+        });
+
+        return curve;
+    }
+}
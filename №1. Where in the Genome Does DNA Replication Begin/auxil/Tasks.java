@@ -0,0 +1,49 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Tasks {
+
+    public static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    public static <T> List<T> getFutureResults(ExecutorService executor, List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+
+        try {
+            List<Future<T>> futureResults = executor.invokeAll(tasks);
+            for (Future<T> futureResult : futureResults) {
+                results.add(futureResult.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to execute task", e.getCause());
+        }
+
+        return results;
+    }
+
+    public static <T> List<T> getFutureResults(int threads, List<Callable<T>> tasks) {
+        if (threads == 1) {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to execute task", e);
+                }
+            }
+            return results;
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            return getFutureResults(executor, tasks);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 import auxil.HMM;
 import auxil.PathNode;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -217,7 +217,7 @@ public class BA10UTIL {
 
     @SuppressWarnings("CallToPrintStackTrace")
     public static <T> void writeToFile(String filename, T e) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             fileWriter.write("%s\n".formatted(e));
         } catch (IOException ioe) {
             System.out.println("Failed to write to file");
@@ -226,7 +226,7 @@ public class BA10UTIL {
     }
 
     private static void writeMatrixToFile(
-            List<List<Double>> mat, int dim1, int dim2, FileWriter fw
+            List<List<Double>> mat, int dim1, int dim2, Writer fw
     ) throws IOException {
         for (int i = 0; i != 2; ++i) {
             fw.write("%s\t".formatted((i == 0) ? "S" : "I0"));
@@ -256,7 +256,7 @@ public class BA10UTIL {
     }
 
     public static void writeTransitionMatrixToFile(
-            List<List<Double>> transitionMatrix, FileWriter fw
+            List<List<Double>> transitionMatrix, Writer fw
     ) throws IOException {
         int cols = transitionMatrix.size();
         fw.write("S\tI0\t");
@@ -267,7 +267,7 @@ public class BA10UTIL {
     }
 
     public static void writeEmissionMatrixToFile(
-            List<List<Double>> emissionMatrix, Map<Character, Integer> alphabet, FileWriter fw
+            List<List<Double>> emissionMatrix, Map<Character, Integer> alphabet, Writer fw
     ) throws IOException {
         int alSize = alphabet.size();
         List<Character> alphabetList = alphabet.keySet().stream().sorted().toList();
@@ -279,7 +279,7 @@ public class BA10UTIL {
     }
 
     public static void writeMatrixToFile(
-            List<List<Double>> mat, FileWriter fw, List<Character> rowLabels, List<Character> colLabels
+            List<List<Double>> mat, Writer fw, List<Character> rowLabels, List<Character> colLabels
     ) throws IOException {
         int nRows = rowLabels.size(), nCols = colLabels.size();
 
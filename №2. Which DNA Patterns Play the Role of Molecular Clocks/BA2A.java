@@ -39,67 +39,31 @@
 // ATA ATT GTT TTT
 // -------------
 
+import auxil.MotifEnumerator;
+
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 public class BA2A {
 
-    private static boolean appearsInStringWithAtMostDMismatches(String pattern, String text, int d) {
-        int patternLength = pattern.length(),
-                textLength = text.length();
-
-        for (int i = 0; i < textLength - patternLength + 1; ++i) {
-            if (BA1G.HammingDistance(pattern, text.substring(i, i + patternLength)) <= d) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    private static boolean
-    appearsInEachStringWithAtMostDMismatches(String pattern, List<String> DNA, int d) {
-        for (String text : DNA) {
-            if (!appearsInStringWithAtMostDMismatches(pattern, text, d)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     private static Set<String> motifEnumerationMachinery(int k, int d, List<String> DNA) {
-        int textLength = DNA.getFirst().length();
-        Set<String> patterns = new HashSet<>();
-
-        for (String text : DNA) {
-            for (int i = 0; i < textLength - k + 1; ++i) {
-                String pattern = text.substring(i, i + k);
-                List<String> neighbors = BA1N.neighbors(pattern, d);
-
-                for (String neighbor : neighbors) {
-                    if (appearsInEachStringWithAtMostDMismatches(neighbor, DNA, d)) {
-                        patterns.add(neighbor);
-                    }
-                }
-            }
-        }
-        UTIL.writeToFile(patterns);
-
-        return patterns;
+        return new LinkedHashSet<>(new MotifEnumerator(k, d).enumerateStrings(DNA));
     }
 
     public static Set<String> motifEnumeration(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return motifEnumerationMachinery(intParams.getFirst(), intParams.getLast(),
+        return motifEnumeration(intParams.getFirst(), intParams.getLast(),
                 strDataset.stream().skip(1).toList());
     }
 
     public static Set<String> motifEnumeration(int k, int d, List<String> DNA) {
-        return motifEnumerationMachinery(k, d, DNA);
+        Set<String> patterns = motifEnumerationMachinery(k, d, DNA);
+        UTIL.writeToFile(patterns);
+
+        return patterns;
     }
 }
@@ -38,38 +38,39 @@
 // GAC
 // -------------
 
+import auxil.MedianStringSearch;
+
 import java.nio.file.Path;
 import java.util.List;
 
 public class BA2B {
 
-    private static String medianStringMachinery(List<String> DNA, int k) {
-        int distance = Integer.MAX_VALUE,
-                numKMers = (int)Math.pow(4, k),
-                curDist;
-        String pattern, median = DNA.getFirst().substring(0, k);
-
-        for (int i = 0; i < numKMers; ++i) {
-            pattern = BA1M.numberToPattern(i, k);
-            curDist = BA2H.distanceBetweenPatternAndStrings(pattern, DNA);
-
-            if (distance > curDist) {
-                distance = curDist;
-                median = pattern;
-            }
-        }
-
-        return median;
+    private static MedianStringSearch.Result medianStringMachinery(List<String> DNA, int k) {
+        return new MedianStringSearch(DNA, k).search();
     }
 
     public static String medianString(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
 
-        return medianStringMachinery(strDataset.stream().skip(1).toList(),
+        return medianString(strDataset.stream().skip(1).toList(),
                 Integer.parseInt(strDataset.getFirst()));
     }
 
     public static String medianString(List<String> DNA, int k) {
+        String median = medianStringMachinery(DNA, k).medians().getFirst();
+        UTIL.writeToFile(List.of(median));
+
+        return median;
+    }
+
+    public static List<String> medianStrings(List<String> DNA, int k) {
+        List<String> medians = medianStringMachinery(DNA, k).medians();
+        UTIL.writeToFile(medians);
+
+        return medians;
+    }
+
+    public static MedianStringSearch.Result medianStringSearch(List<String> DNA, int k) {
         return medianStringMachinery(DNA, k);
     }
 }
@@ -35,33 +35,41 @@
 // CCGAG
 // -------------
 
+import auxil.PackedSequence;
+import auxil.ProfileScanner;
+
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
 public class BA2C {
 
+    private static PackedSequence pack(String text) {
+        PackedSequence packed = PackedSequence.of(text);
+        if (packed.hasAmbiguity()) {
+            for (int i = 0; i < packed.length(); ++i) {
+                if (packed.isAmbiguous(i)) {
+                    throw new RuntimeException("Incorrect nucleotide: %c".formatted(text.charAt(i)));
+                }
+            }
+        }
+
+        return packed;
+    }
+
     private static String
     profileMostProbableKMerMachinery(String text, int k, double[][] profile) {
-        int textLength = text.length(), index;
-        double maxProb = Double.MIN_VALUE;
-        String mostProbable = text.substring(0, k);
-
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            String pattern = text.substring(i, i + k);
-            double prob = 1D;
+        return new ProfileScanner(k).setProfile(profile).mostProbableKMer(pack(text));
+    }
 
-            for (int j = 0; j < k; ++j) {
-                index = BA2UTIL.symbolToIndex(pattern.charAt(j));
-                prob *= profile[index][j];
-            }
-            if (prob > maxProb) {
-                maxProb = prob;
-                mostProbable = pattern;
-            }
-        }
+    private static List<String>
+    profileMostProbableKMersMachinery(List<String> DNA, double[][] profile) {
+        List<PackedSequence> texts = DNA
+                .stream()
+                .map(BA2C::pack)
+                .toList();
 
-        return mostProbable;
+        return new ProfileScanner(profile).mostProbableKMers(texts);
     }
 
     public static String profileMostProbableKMer(Path path) {
@@ -84,4 +92,8 @@ public class BA2C {
     public static String profileMostProbableKMer(String text, int k, double[][] profile) {
         return profileMostProbableKMerMachinery(text, k, profile);
     }
+
+    public static List<String> profileMostProbableKMers(List<String> DNA, double[][] profile) {
+        return profileMostProbableKMersMachinery(DNA, profile);
+    }
 }
@@ -44,48 +44,37 @@
 // CAA
 // -------------
 
+import auxil.GreedyMotifSearch;
+import auxil.Tasks;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
 public class BA2D {
 
-    private static List<String> greedyMotifSearchMachinery(List<String> DNA, int k, int t) {
-        String fDNA = DNA.getFirst();
-        int textLength = fDNA.length();
-        List<String> bestMotifs = new ArrayList<>(
-                DNA.stream().map(text -> text.substring(0, k)).toList()),
-                currentMotifs;
-        int bestMotifsScore = BA2UTIL.score(bestMotifs), currentScore;
-
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            currentMotifs = new ArrayList<>(List.of(fDNA.substring(i, i + k)));
-
-            for (int j = 1; j < t; ++j) {
-                double[][] profile = BA2UTIL.formProfile(currentMotifs);
-                currentMotifs.add(BA2C.profileMostProbableKMer(DNA.get(j), k, profile));
-            }
-            currentScore = BA2UTIL.score(currentMotifs);
-
-            if (bestMotifsScore > currentScore) {
-                bestMotifsScore = currentScore;
-                bestMotifs = currentMotifs;
-            }
-        }
-        UTIL.writeToFileWithNewlines(bestMotifs);
-
-        return bestMotifs;
+    private static List<String>
+    greedyMotifSearchMachinery(List<String> DNA, int k, int t, int threads) {
+        return new GreedyMotifSearch(DNA.subList(0, t), k, 0)
+                .withThreads(threads)
+                .search();
     }
 
     public static List<String> greedyMotifSearch(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return greedyMotifSearchMachinery(strDataset.stream().skip(1).toList(),
+        return greedyMotifSearch(strDataset.stream().skip(1).toList(),
                 intParams.getFirst(), intParams.getLast());
     }
 
     public static List<String> greedyMotifSearch(List<String> DNA, int k, int t) {
-        return greedyMotifSearchMachinery(DNA, k, t);
+        return greedyMotifSearch(DNA, k, t, Tasks.POOL_SIZE);
+    }
+
+    public static List<String> greedyMotifSearch(List<String> DNA, int k, int t, int threads) {
+        List<String> bestMotifs = greedyMotifSearchMachinery(DNA, k, t, threads);
+        UTIL.writeToFileWithNewlines(bestMotifs);
+
+        return bestMotifs;
     }
 }
@@ -32,50 +32,38 @@
 // TTC
 // -------------
 
+import auxil.GreedyMotifSearch;
+import auxil.Tasks;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
 public class BA2E {
 
     private static List<String>
-    greedyMotifSearchWithPseudocountsMachinery(List<String> DNA, int k, int t) {
-        String fDNA = DNA.getFirst();
-        int textLength = fDNA.length();
-        List<String> bestMotifs = new ArrayList<>(
-                DNA.stream().map(text -> text.substring(0, k)).toList()),
-                currentMotifs;
-        int bestMotifsScore = BA2UTIL.score(bestMotifs), currentScore;
-
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            currentMotifs = new ArrayList<>(List.of(fDNA.substring(i, i + k)));
-
-            for (int j = 1; j < t; ++j) {
-                double[][] profile = BA2UTIL.formProfileWithPseudocounts(currentMotifs);
-                currentMotifs.add(BA2C.profileMostProbableKMer(DNA.get(j), k, profile));
-            }
-            currentScore = BA2UTIL.score(currentMotifs);
-
-            if (bestMotifsScore > currentScore) {
-                bestMotifsScore = currentScore;
-                bestMotifs = currentMotifs;
-            }
-        }
-        UTIL.writeToFileWithNewlines(bestMotifs);
-
-        return bestMotifs;
+    greedyMotifSearchWithPseudocountsMachinery(List<String> DNA, int k, int t, int threads) {
+        return new GreedyMotifSearch(DNA.subList(0, t), k, 1)
+                .withThreads(threads)
+                .search();
     }
 
     public static List<String> greedyMotifSearchWithPseudocounts(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return greedyMotifSearchWithPseudocountsMachinery(strDataset.stream().skip(1).toList(),
+        return greedyMotifSearchWithPseudocounts(strDataset.stream().skip(1).toList(),
                 intParams.getFirst(), intParams.getLast());
     }
 
     public static List<String> greedyMotifSearchWithPseudocounts(List<String> DNA, int k, int t) {
-        return greedyMotifSearchWithPseudocountsMachinery(DNA, k, t);
+        return greedyMotifSearchWithPseudocounts(DNA, k, t, Tasks.POOL_SIZE);
     }
 
+    public static List<String>
+    greedyMotifSearchWithPseudocounts(List<String> DNA, int k, int t, int threads) {
+        List<String> bestMotifs = greedyMotifSearchWithPseudocountsMachinery(DNA, k, t, threads);
+        UTIL.writeToFileWithNewlines(bestMotifs);
+
+        return bestMotifs;
+    }
 }
@@ -56,58 +56,88 @@
 // TCCACGTG
 // -------------
 
+import auxil.MotifMatrix;
+import auxil.PackedSequence;
+import auxil.ProfileScanner;
+import auxil.RandomRestartSearch;
+
 import java.nio.file.Path;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.UnaryOperator;
 
 public class BA2F {
 
-    private static List<String> bestMotifs;
-    private static int bestMotifsScore = Integer.MAX_VALUE;
-
-    private static void randomizedMotifSearchEach(List<String> DNA, int motifLength, int k) {
-        List<String> motifs = BA2UTIL.selectRandomKMers(DNA, motifLength, k);
+    private static RandomRestartSearch.Candidate<List<String>>
+    randomizedMotifSearchEach(List<String> DNA, List<PackedSequence> texts, int motifLength, int k,
+                              SplittableRandom random) {
+        List<String> motifs = BA2UTIL.selectRandomKMers(DNA, motifLength, k, random);
         List<String> bestMotifs = motifs;
-        int bestMotifsScore = BA2UTIL.score(bestMotifs), currentScore;
-        double[][] profile;
+        MotifMatrix matrix = MotifMatrix.of(motifs);
+        int bestMotifsScore = matrix.score(), currentScore;
+        ProfileScanner scanner = new ProfileScanner(k);
 
         while (true) {
-            profile = BA2UTIL.formProfileWithPseudocounts(motifs);
-            motifs = BA2UTIL.formMotifs(profile, DNA);
-            currentScore = BA2UTIL.score(motifs);
+            motifs = BA2UTIL.formMotifs(scanner.setProfile(matrix, 1), texts);
+            matrix.clear();
+            for (String motif : motifs) {
+                matrix.add(motif);
+            }
+            currentScore = matrix.score();
 
             if (bestMotifsScore > currentScore) {
                 bestMotifsScore = currentScore;
                 bestMotifs = motifs;
             } else {
-                if (BA2F.bestMotifsScore > bestMotifsScore) {
-                    BA2F.bestMotifsScore = bestMotifsScore;
-                    BA2F.bestMotifs = bestMotifs;
-                }
-                return;
+                return new RandomRestartSearch.Candidate<>(bestMotifs, bestMotifsScore);
             }
         }
     }
 
-    private static List<String> randomizedMotifSearchMachinery(List<String> DNA, int k) {
+    private static RandomRestartSearch<List<String>>
+    randomizedMotifSearchRestarts(List<String> DNA, int k) {
         int motifLength = DNA.getFirst().length();
+        List<PackedSequence> texts = BA2UTIL.pack(DNA);
 
-        for (int i = 0; i < 1000; ++i) {
-            randomizedMotifSearchEach(DNA, motifLength, k);
-        }
-        UTIL.writeToFileWithNewlines(BA2F.bestMotifs);
+        return new RandomRestartSearch<>(random ->
+                randomizedMotifSearchEach(DNA, texts, motifLength, k, random));
+    }
 
-        return BA2F.bestMotifs;
+    private static List<String>
+    randomizedMotifSearchMachinery(RandomRestartSearch<List<String>> restarts) {
+        return restarts.run().best();
     }
 
     public static List<String> randomizedMotifSearch(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return randomizedMotifSearchMachinery(strDataset.stream().skip(1).toList(),
-                intParams.getFirst());
+        return randomizedMotifSearch(strDataset.stream().skip(1).toList(), intParams.getFirst());
     }
 
     public static List<String> randomizedMotifSearch(List<String> DNA, int k) {
-        return randomizedMotifSearchMachinery(DNA, k);
+        List<String> bestMotifs =
+                randomizedMotifSearchMachinery(randomizedMotifSearchRestarts(DNA, k));
+        UTIL.writeToFileWithNewlines(bestMotifs);
+
+        return bestMotifs;
+    }
+
+    public static List<String> randomizedMotifSearch(List<String> DNA, int k, long seed) {
+        List<String> bestMotifs = randomizedMotifSearchMachinery(
+                randomizedMotifSearchRestarts(DNA, k).withSeed(seed));
+        UTIL.writeToFileWithNewlines(bestMotifs);
+
+        return bestMotifs;
+    }
+
+    public static RandomRestartSearch.Result<List<String>>
+    randomizedMotifSearch(List<String> DNA, int k,
+                          UnaryOperator<RandomRestartSearch<List<String>>> configure) {
+        RandomRestartSearch.Result<List<String>> result =
+                configure.apply(randomizedMotifSearchRestarts(DNA, k)).run();
+        UTIL.writeToFileWithNewlines(result.best());
+
+        return result;
     }
 }
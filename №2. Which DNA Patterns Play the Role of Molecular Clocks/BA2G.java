@@ -48,13 +48,16 @@
 // TCCACGTG
 // -------------
 
+import auxil.GibbsSampler;
+import auxil.RandomRestartSearch;
+
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 public class BA2G {
 
-    private static List<String> bestMotifs;
-    private static int bestMotifsScore = Integer.MAX_VALUE;
+    private static final int NUM_CHAINS = 20;
 
     public static int GibbsRandom(double[] probs) {
         int probsLength = probs.length;
@@ -74,91 +77,53 @@ public class BA2G {
         return probsLength - 1;
     }
 
-    private static List<String>
-    getEveryFromExceptIndex(List<String> motifs, int motifsSize, int index) {
-        List<String> everyExcept = new ArrayList<>();
-
-        for (int i = 0; i < motifsSize; ++i) {
-            if (i != index) {
-                everyExcept.add(motifs.get(i));
-            }
-        }
-
-        return everyExcept;
+    private static RandomRestartSearch<int[]> GibbsSamplerChains(GibbsSampler sampler, int N) {
+        return new RandomRestartSearch<>(random -> sampler.run(N, random))
+                .withMaxRestarts(NUM_CHAINS);
     }
 
-    private static double computeKMerProbability(double[][] profile, String kMer, int k) {
-        double prob = 1D;
-        int index;
-
-        for (int i = 0; i < k; ++i) {
-            index = BA2UTIL.symbolToIndex(kMer.charAt(i));
-            prob *= profile[index][i];
-        }
+    private static RandomRestartSearch.Result<List<String>>
+    GibbsSamplerMachinery(List<String> DNA, int k, int t, int N,
+                          UnaryOperator<RandomRestartSearch<int[]>> configure) {
+        GibbsSampler sampler = new GibbsSampler(DNA.subList(0, t), k);
+        RandomRestartSearch.Result<int[]> result =
+                configure.apply(GibbsSamplerChains(sampler, N)).run();
 
-        return prob;
+        return new RandomRestartSearch.Result<>(sampler.motifs(result.best()), result.score(),
+                result.restarts());
     }
 
-    private static String
-    getProfileRandomlyGeneratedKMerInSequence(double[][] profile, int k, String sequence) {
-        int sequenceLength = sequence.length(), index;
-        double[] probs = new double[sequenceLength - k + 1];
-
-        for (int i = 0; i < sequenceLength - k + 1; ++i) {
-            probs[i] = computeKMerProbability(profile, sequence.substring(i, i + k), k);
-        }
-        index = GibbsRandom(probs);
+    public static List<String> GibbsSampler(Path path) {
+        List<String> strDataset = UTIL.readDataset(path);
+        List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return sequence.substring(index, index + k);
+        return GibbsSampler(strDataset.stream().skip(1).toList(), intParams.getFirst(),
+                intParams.get(1), intParams.getLast());
     }
 
-    private static void
-    GibbsSamplerMachineryEach(List<String> DNA, int motifLength, Random rnd, int k, int t, int N) {
-        List<String> motifs = BA2UTIL.selectRandomKMers(DNA, motifLength, k);
-        List<String> bestMotifs = new ArrayList<>(motifs);
-        int index, bestMotifsScore = BA2UTIL.score(bestMotifs), motifsScore;
-        double[][] profile;
-
-        for (int j = 0; j < N; ++j) {
-            index = rnd.nextInt(t);
-            profile = BA2UTIL.formProfileWithPseudocounts(
-                    getEveryFromExceptIndex(motifs, t, index));
-            motifs.set(index, getProfileRandomlyGeneratedKMerInSequence(profile, k,
-                    DNA.get(index)));
-            motifsScore = BA2UTIL.score(motifs);
-
-            if (bestMotifsScore > motifsScore) {
-                bestMotifsScore = motifsScore;
-                bestMotifs = motifs;
-            }
-        }
+    public static List<String> GibbsSampler(List<String> DNA, int k, int t, int N) {
+        List<String> bestMotifs =
+                GibbsSamplerMachinery(DNA, k, t, N, UnaryOperator.identity()).best();
+        UTIL.writeToFileWithNewlines(bestMotifs);
 
-        if (BA2G.bestMotifsScore > bestMotifsScore) {
-            BA2G.bestMotifsScore = bestMotifsScore;
-            BA2G.bestMotifs = bestMotifs;
-        }
+        return bestMotifs;
     }
 
-    private static List<String> GibbsSamplerMachinery(List<String> DNA, int k, int t, int N) {
-        int motifLength = DNA.getFirst().length();
+    public static List<String> GibbsSampler(List<String> DNA, int k, int t, int N, long seed) {
+        List<String> bestMotifs =
+                GibbsSamplerMachinery(DNA, k, t, N, chains -> chains.withSeed(seed)).best();
+        UTIL.writeToFileWithNewlines(bestMotifs);
 
-        for (int i = 0; i < 20; ++i) {
-            GibbsSamplerMachineryEach(DNA, motifLength, new Random(), k, t, N);
-        }
-        UTIL.writeToFileWithNewlines(BA2G.bestMotifs);
-
-        return BA2G.bestMotifs;
+        return bestMotifs;
     }
 
-    public static List<String> GibbsSampler(Path path) {
-        List<String> strDataset = UTIL.readDataset(path);
-        List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
-
-        return GibbsSamplerMachinery(strDataset.stream().skip(1).toList(), intParams.getFirst(),
-                intParams.get(1), intParams.getLast());
-    }
+    public static RandomRestartSearch.Result<List<String>>
+    GibbsSampler(List<String> DNA, int k, int t, int N,
+                 UnaryOperator<RandomRestartSearch<int[]>> configure) {
+        RandomRestartSearch.Result<List<String>> result =
+                GibbsSamplerMachinery(DNA, k, t, N, configure);
+        UTIL.writeToFileWithNewlines(result.best());
 
-    public static List<String> GibbsSampler(List<String> DNA, int k, int t, int N) {
-        return GibbsSamplerMachinery(DNA, k, t, N);
+        return result;
     }
 }
@@ -38,6 +38,8 @@
 // 5
 // -------------
 
+import auxil.DNAWindowIndex;
+
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
@@ -45,33 +47,23 @@ import java.util.List;
 public class BA2H {
 
     private static int
-    distanceBetweenPatternAndStringsMachinery(String pattern, List<String> DNA) {
-        int k = pattern.length(),
-                textLength = DNA.getFirst().length();
-        int distance = 0, curHamDist;
-
-        for (String text : DNA) {
-            int HammingDistance = Integer.MAX_VALUE;
-            for (int i = 0; i < textLength - k + 1; ++i) {
-                curHamDist = BA1G.HammingDistance(pattern, text.substring(i, i + k));
-                if (HammingDistance > curHamDist) {
-                    HammingDistance = curHamDist;
-                }
-            }
-            distance += HammingDistance;
-        }
-
-        return distance;
+    distanceBetweenPatternAndStringsMachinery(String pattern, DNAWindowIndex index) {
+        return index.distance(pattern);
     }
 
     public static int distanceBetweenPatternAndStrings(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
 
-        return distanceBetweenPatternAndStringsMachinery(strDataset.getFirst(),
+        return distanceBetweenPatternAndStrings(strDataset.getFirst(),
                 Arrays.stream(strDataset.get(1).split("\\s+")).toList());
     }
 
     public static int distanceBetweenPatternAndStrings(String pattern, List<String> DNA) {
-        return distanceBetweenPatternAndStringsMachinery(pattern, DNA);
+        return distanceBetweenPatternAndStringsMachinery(pattern,
+                new DNAWindowIndex(DNA, pattern.length()));
+    }
+
+    public static int distanceBetweenPatternAndStrings(String pattern, DNAWindowIndex index) {
+        return distanceBetweenPatternAndStringsMachinery(pattern, index);
     }
 }
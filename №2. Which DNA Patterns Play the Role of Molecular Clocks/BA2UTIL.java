@@ -1,58 +1,24 @@
+import auxil.MotifMatrix;
+import auxil.PackedSequence;
+import auxil.ProfileScanner;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 public class BA2UTIL {
 
-    public static int symbolToIndex(char symbol) {
-        return
-                switch (symbol) {
-                    case 'A' -> 0;
-                    case 'C' -> 1;
-                    case 'G' -> 2;
-                    case 'T' -> 3;
-                    default -> throw new RuntimeException("Incorrect nucleotide: %c"
-                            .formatted(symbol));
-                };
-    }
-
-    public static char indexToSymbol(int index) {
-        return
-                switch (index) {
-                    case 0 -> 'A';
-                    case 1 -> 'C';
-                    case 2 -> 'G';
-                    case 3 -> 'T';
-                    default -> throw new RuntimeException("Incorrect index: %d".formatted(index));
-                };
-    }
-
     public static int[][] formCount(List<String> motifs) {
-        int motifLength = motifs.getFirst().length(), index;
-        int[][] count = new int[4][motifLength];
-
-        for (String motif : motifs) {
-            for (int i = 0; i < motifLength; ++i) {
-                index = symbolToIndex(motif.charAt(i));
-                count[index][i] += 1;
-            }
-        }
-
-        return count;
+        return MotifMatrix.of(motifs).toCountArray();
     }
 
     public static int[][] formCountWithPseudocounts(List<String> motifs) {
-        int motifLength = motifs.getFirst().length(), index;
-        int[][] countWithPseudocounts = new int[4][motifLength];
-        for (int i = 0; i < 4; ++i) {
-            Arrays.fill(countWithPseudocounts[i], 1);
-        }
-
-        for (String motif : motifs) {
-            for (int i = 0; i < motifLength; ++i) {
-                index = symbolToIndex(motif.charAt(i));
-                countWithPseudocounts[index][i] += 1;
+        int[][] countWithPseudocounts = formCount(motifs);
+        for (int[] countRow : countWithPseudocounts) {
+            for (int i = 0; i < countRow.length; ++i) {
+                ++countRow[i];
             }
         }
 
@@ -60,76 +26,42 @@ public class BA2UTIL {
     }
 
     public static double[][] formProfile(List<String> motifs) {
-        int motifLength = motifs.getFirst().length(),
-                motifsSize = motifs.size();
-        int i = 0, j = 0;
-        double[][] profile = new double[4][motifLength];
-
-        for (int[] countRow : formCount(motifs)) {
-            for (double count : countRow) {
-                profile[i][j++] = count / motifsSize;
-            }
-            j = 0;
-            ++i;
-        }
+        int motifLength = motifs.getFirst().length();
 
-        return profile;
+        return MotifMatrix.of(motifs).profile(new double[4][motifLength], 0);
     }
 
     public static double[][] formProfileWithPseudocounts(List<String> motifs) {
-        int motifLength = motifs.getFirst().length(),
-                motifsSize = motifs.size() + 4;
-        int i = 0, j = 0;
-        double[][] profileWithPseudocounts = new double[4][motifLength];
-
-        for (int[] countWithPseudocountsRow : formCountWithPseudocounts(motifs)) {
-            for (double countWithPseudocounts : countWithPseudocountsRow) {
-                profileWithPseudocounts[i][j++] = countWithPseudocounts / motifsSize;
-            }
-            j = 0;
-            ++i;
-        }
+        int motifLength = motifs.getFirst().length();
 
-        return profileWithPseudocounts;
+        return MotifMatrix.of(motifs).profile(new double[4][motifLength], 1);
     }
 
     public static String formConsensus(List<String> motifs) {
-        int motifLength = motifs.getFirst().length();
-        int freqNucleotideIndex = 0, maxFreq;
-        int[][] count = formCount(motifs);
-        StringBuilder consensus = new StringBuilder(motifLength);
-
-        for (int i = 0; i < motifLength; ++i) {
-            maxFreq = Integer.MIN_VALUE;
-            for (int j = 0; j < 4; ++j) {
-                if (count[j][i] > maxFreq) {
-                    maxFreq = count[j][i];
-                    freqNucleotideIndex = j;
-                }
-            }
-            consensus.append(indexToSymbol(freqNucleotideIndex));
-        }
-
-        return consensus.toString();
+        return MotifMatrix.of(motifs).consensus();
     }
 
     public static int score(List<String> motifs) {
-        int score = 0;
-        String consensus = formConsensus(motifs);
+        return MotifMatrix.of(motifs).score();
+    }
+
+    public static List<String> formMotifs(double[][] profile, List<String> DNA) {
+        return BA2C.profileMostProbableKMers(DNA, profile);
+    }
 
-        for (String motif : motifs) {
-            score += BA1G.HammingDistance(consensus, motif);
+    public static List<String> formMotifs(ProfileScanner scanner, List<PackedSequence> texts) {
+        List<String> motifs = new ArrayList<>(texts.size());
+        for (PackedSequence text : texts) {
+            motifs.add(scanner.mostProbableKMer(text));
         }
 
-        return score;
+        return motifs;
     }
 
-    public static List<String> formMotifs(double[][] profile, List<String> DNA) {
-        int k = profile[0].length;
-
+    public static List<PackedSequence> pack(List<String> DNA) {
         return DNA
                 .stream()
-                .map(motif -> BA2C.profileMostProbableKMer(motif, k, profile))
+                .map(PackedSequence::of)
                 .toList();
     }
 
@@ -146,6 +78,19 @@ public class BA2UTIL {
         return randomKMers;
     }
 
+    public static List<String>
+    selectRandomKMers(List<String> DNA, int motifLength, int k, SplittableRandom random) {
+        List<String> randomKMers = new ArrayList<>();
+        int index;
+
+        for (String motif : DNA) {
+            index = random.nextInt(motifLength - k + 1);
+            randomKMers.add(motif.substring(index, index + k));
+        }
+
+        return randomKMers;
+    }
+
     public static double entropyScore(List<String> motifs) {
         int motifLength = motifs.getFirst().length();
         double[][] profile = formProfileWithPseudocounts(motifs);
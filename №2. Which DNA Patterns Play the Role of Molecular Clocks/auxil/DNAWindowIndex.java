@@ -0,0 +1,108 @@
+package auxil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Sorted distinct k-mer codes of every string of a DNA list, built once and shared by any number of
+// d(Pattern, DNA) queries. A query compares the pattern with each stored k-mer by XOR + popcount,
+// stops on a string as soon as an exact occurrence (found by binary search) or a zero distance is
+// seen, and stops altogether once the running sum exceeds the caller's limit. The index is never
+// modified after construction, so it can be queried from several threads without locking. Windows
+// containing a non-ACGT symbol are not indexed.
+
+public class DNAWindowIndex {
+
+    private final int k;
+    private final long[][] kMers;
+
+    public DNAWindowIndex(List<String> DNA, int k) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.kMers = new long[DNA.size()][];
+
+        for (int i = 0; i < DNA.size(); ++i) {
+            PackedSequence text = PackedSequence.of(DNA.get(i));
+            long[] codes = new long[Math.max(0, text.length() - k + 1)];
+            int[] numCodes = new int[1];
+            text.forEachKMer(k, (position, code) -> codes[numCodes[0]++] = code);
+            kMers[i] = distinctSorted(codes, numCodes[0]);
+        }
+    }
+
+    private static long[] distinctSorted(long[] codes, int numCodes) {
+        Arrays.sort(codes, 0, numCodes);
+        int numDistinct = 0;
+        for (int i = 0; i < numCodes; ++i) {
+            if (numDistinct == 0 || codes[i] != codes[numDistinct - 1]) {
+                codes[numDistinct++] = codes[i];
+            }
+        }
+
+        return Arrays.copyOf(codes, numDistinct);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return kMers.length;
+    }
+
+    public int distinctKMers(int i) {
+        return kMers[i].length;
+    }
+
+    public int distance(String pattern) {
+        if (pattern.length() != k) {
+            throw new RuntimeException("Pattern length differs from k = %d".formatted(k));
+        }
+
+        return distance(PackedSequence.encode(pattern), Integer.MAX_VALUE);
+    }
+
+    public int distance(long pattern) {
+        return distance(pattern, Integer.MAX_VALUE);
+    }
+
+    // Exact if the distance does not exceed limit, otherwise some value greater than limit
+    public int distance(long pattern, int limit) {
+        int distance = 0;
+
+        for (long[] codes : kMers) {
+            distance += minDistance(codes, pattern);
+            if (distance > limit) {
+                return distance;
+            }
+        }
+
+        return distance;
+    }
+
+    public int minDistance(int i, long pattern) {
+        return minDistance(kMers[i], pattern);
+    }
+
+    private int minDistance(long[] codes, long pattern) {
+        if (Arrays.binarySearch(codes, pattern) >= 0) {
+            return 0;
+        }
+        int minDistance = k;
+        for (int i = 0; i < codes.length && minDistance > 1; ++i) {
+            minDistance = Math.min(minDistance, PackedSequence.mismatches(codes[i], pattern));
+        }
+
+        return minDistance;
+    }
+
+    public int[] distances(long[] patterns) {
+        return IntStream
+                .range(0, patterns.length)
+                .parallel()
+                .map(i -> distance(patterns[i]))
+                .toArray();
+    }
+}
@@ -0,0 +1,123 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Gibbs sampler over motif start positions in packed texts. A chain keeps the current motifs in a
+// MotifMatrix; replacing one motif removes its code, samples a new window from the profile of the
+// remaining motifs and adds the window's code back, touching only k columns and keeping the score
+// up to date. Before each draw the profile with pseudocounts is turned into the log table of a
+// ProfileScanner (4k logarithms), and the windows are read as a rolling 2-bit code, so a window
+// costs one shift and k table lookups; its log-probability can't be updated from the previous
+// window, since every symbol moves to another column. A chain allocates its buffers once, so the
+// iterations themselves do not allocate, and separate chains share only the immutable input.
+
+public class GibbsSampler {
+
+    private final PackedSequence[] texts;
+    private final int k;
+    private final int t;
+
+    public GibbsSampler(List<String> DNA, int k) {
+        this.k = k;
+        this.t = DNA.size();
+        this.texts = new PackedSequence[t];
+
+        for (int i = 0; i < t; ++i) {
+            String text = DNA.get(i);
+            if (text.length() < k) {
+                throw new RuntimeException("Text is shorter than k");
+            }
+            texts[i] = PackedSequence.of(text);
+            if (texts[i].hasAmbiguity()) {
+                throw new RuntimeException("Text contains a non-ACGT symbol: %s".formatted(text));
+            }
+        }
+    }
+
+    public RandomRestartSearch.Candidate<int[]> run(int N, SplittableRandom random) {
+        return new Chain(random).run(N);
+    }
+
+    public List<String> motifs(int[] positions) {
+        List<String> motifs = new ArrayList<>(t);
+        for (int i = 0; i < t; ++i) {
+            motifs.add(texts[i].substring(positions[i], positions[i] + k));
+        }
+
+        return motifs;
+    }
+
+    private final class Chain {
+
+        private final SplittableRandom random;
+        private final MotifMatrix matrix = new MotifMatrix(k);
+        private final ProfileScanner scanner = new ProfileScanner(k);
+        private final int[] positions = new int[t];
+        private final int[] bestPositions = new int[t];
+        private final double[] weights;
+
+        private Chain(SplittableRandom random) {
+            this.random = random;
+            int maxWindows = 0;
+            for (PackedSequence text : texts) {
+                maxWindows = Math.max(maxWindows, text.length() - k + 1);
+            }
+            this.weights = new double[maxWindows];
+        }
+
+        private RandomRestartSearch.Candidate<int[]> run(int N) {
+            for (int i = 0; i < t; ++i) {
+                positions[i] = random.nextInt(texts[i].length() - k + 1);
+                matrix.add(texts[i].kMerAt(positions[i], k));
+            }
+            int bestScore = matrix.score();
+            System.arraycopy(positions, 0, bestPositions, 0, t);
+
+            for (int iteration = 0; iteration < N; ++iteration) {
+                int i = random.nextInt(t);
+                matrix.remove(texts[i].kMerAt(positions[i], k));
+                positions[i] = sampleWindow(texts[i]);
+                matrix.add(texts[i].kMerAt(positions[i], k));
+                if (matrix.score() < bestScore) {
+                    bestScore = matrix.score();
+                    System.arraycopy(positions, 0, bestPositions, 0, t);
+                }
+            }
+
+            return new RandomRestartSearch.Candidate<>(bestPositions.clone(), bestScore);
+        }
+
+        private int sampleWindow(PackedSequence text) {
+            int numWindows = text.length() - k + 1;
+            long mask = PackedSequence.kMerMask(k);
+            long code = text.kMerAt(0, k);
+            double maxLogWeight = Double.NEGATIVE_INFINITY;
+            scanner.setProfile(matrix, 1);
+
+            for (int w = 0; w < numWindows; ++w) {
+                if (w > 0) {
+                    code = ((code << 2) | text.codeAt(w + k - 1)) & mask;
+                }
+                weights[w] = scanner.logProbability(code);
+                maxLogWeight = Math.max(maxLogWeight, weights[w]);
+            }
+            double total = 0;
+            for (int w = 0; w < numWindows; ++w) {
+                weights[w] = Math.exp(weights[w] - maxLogWeight);
+                total += weights[w];
+            }
+
+            double threshold = random.nextDouble() * total;
+            for (int w = 0; w < numWindows; ++w) {
+                threshold -= weights[w];
+                if (threshold < 0) {
+                    return w;
+                }
+            }
+
+            return numWindows - 1;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// GreedyMotifSearch with the starting k-mers of the first text split into contiguous ranges, one
+// task per range. A task owns its MotifMatrix and ProfileScanner and keeps only the score and the
+// start of its best run, so the greedy steps do not allocate. Ranges are reduced in order with the
+// same strict comparison as the sequential loop (the first k-mers of every text, then the earliest
+// start with the lowest score), so the motifs do not depend on the number of threads; the winning
+// run is replayed once to build them.
+
+public class GreedyMotifSearch {
+
+    private final List<PackedSequence> texts;
+    private final int k;
+    private final int pseudocount;
+    private final int threads;
+
+    public GreedyMotifSearch(List<String> DNA, int k, int pseudocount) {
+        this(pack(DNA), k, pseudocount, Tasks.POOL_SIZE);
+    }
+
+    private GreedyMotifSearch(List<PackedSequence> texts, int k, int pseudocount, int threads) {
+        this.texts = texts;
+        this.k = k;
+        this.pseudocount = pseudocount;
+        this.threads = Math.max(1, threads);
+
+        for (PackedSequence text : texts) {
+            if (text.length() < k) {
+                throw new RuntimeException("Text is shorter than k");
+            }
+        }
+    }
+
+    private static List<PackedSequence> pack(List<String> DNA) {
+        List<PackedSequence> texts = new ArrayList<>(DNA.size());
+        for (String text : DNA) {
+            PackedSequence packed = PackedSequence.of(text);
+            for (int i = 0; packed.hasAmbiguity() && i < packed.length(); ++i) {
+                if (packed.isAmbiguous(i)) {
+                    throw new RuntimeException("Incorrect nucleotide: %c".formatted(text.charAt(i)));
+                }
+            }
+            texts.add(packed);
+        }
+
+        return texts;
+    }
+
+    public GreedyMotifSearch withThreads(int threads) {
+        return new GreedyMotifSearch(texts, k, pseudocount, threads);
+    }
+
+    public List<String> search() {
+        int numStarts = texts.getFirst().length() - k + 1;
+        int numRanges = Math.min(threads, numStarts);
+        List<Callable<Range>> tasks = new ArrayList<>(numRanges);
+        for (int r = 0; r < numRanges; ++r) {
+            tasks.add(new Range((int)((long)numStarts * r / numRanges),
+                    (int)((long)numStarts * (r + 1) / numRanges)));
+        }
+        List<Range> ranges = Tasks.getFutureResults(Math.min(threads, numRanges), tasks);
+
+        MotifMatrix matrix = new MotifMatrix(k);
+        for (PackedSequence text : texts) {
+            matrix.add(text.kMerAt(0, k));
+        }
+        int bestScore = matrix.score(), bestStart = -1;
+        for (Range range : ranges) {
+            if (range.bestScore < bestScore) {
+                bestScore = range.bestScore;
+                bestStart = range.bestStart;
+            }
+        }
+
+        List<String> motifs = new ArrayList<>(texts.size());
+        if (bestStart < 0) {
+            for (PackedSequence text : texts) {
+                motifs.add(text.substring(0, k));
+            }
+        } else {
+            long[] codes = new long[texts.size()];
+            run(bestStart, matrix, new ProfileScanner(k), codes);
+            for (long code : codes) {
+                motifs.add(PackedSequence.decode(code, k));
+            }
+        }
+
+        return motifs;
+    }
+
+    // Greedy run from the k-mer of the first text at start; codes receives the motifs if not null
+    private int run(int start, MotifMatrix matrix, ProfileScanner scanner, long[] codes) {
+        long code = texts.getFirst().kMerAt(start, k);
+        matrix.clear();
+        matrix.add(code);
+        if (codes != null) {
+            codes[0] = code;
+        }
+
+        for (int i = 1; i < texts.size(); ++i) {
+            PackedSequence text = texts.get(i);
+            code = text.kMerAt(scanner.setProfile(matrix, pseudocount).mostProbable(text), k);
+            matrix.add(code);
+            if (codes != null) {
+                codes[i] = code;
+            }
+        }
+
+        return matrix.score();
+    }
+
+    private final class Range implements Callable<Range> {
+
+        private final int from;
+        private final int to;
+        private int bestScore = Integer.MAX_VALUE;
+        private int bestStart = -1;
+
+        private Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Range call() {
+            MotifMatrix matrix = new MotifMatrix(k);
+            ProfileScanner scanner = new ProfileScanner(k);
+
+            for (int start = from; start < to; ++start) {
+                int score = run(start, matrix, scanner, null);
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestStart = start;
+                }
+            }
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Branch and bound median string search. Patterns are built symbol by symbol as a walk down the
+// prefix tree; for a prefix of length p the sum over all texts of the minimal number of mismatches
+// with a p-mer of the text is a lower bound on d(Pattern, DNA) for every pattern extending it, so
+// a subtree is skipped as soon as this bound exceeds the best distance found so far. The mismatch
+// counts of every window are extended by one column per tree level instead of being recomputed.
+// Subtrees of the top levels are searched by a fork/join pool sharing one atomic best distance.
+
+public class MedianStringSearch {
+
+    private final List<String> DNA;
+    private final byte[][] texts;
+    private final int[] windowOffsets;
+    private final int numWindows;
+    private final int k;
+    private final int threads;
+    private final AtomicInteger bestDistance = new AtomicInteger();
+
+    public MedianStringSearch(List<String> DNA, int k) {
+        this(DNA, k, Tasks.POOL_SIZE);
+    }
+
+    private MedianStringSearch(List<String> DNA, int k, int threads) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.DNA = DNA;
+        this.k = k;
+        this.threads = Math.max(1, threads);
+        this.texts = new byte[DNA.size()][];
+        this.windowOffsets = new int[DNA.size() + 1];
+
+        for (int i = 0; i < DNA.size(); ++i) {
+            String text = DNA.get(i);
+            if (text.length() < k) {
+                throw new RuntimeException("Text is shorter than k");
+            }
+            texts[i] = new byte[text.length()];
+            for (int j = 0; j < text.length(); ++j) {
+                texts[i][j] = (byte)PackedSequence.symbolToCode(text.charAt(j));
+            }
+            windowOffsets[i + 1] = windowOffsets[i] + text.length() - k + 1;
+        }
+        this.numWindows = windowOffsets[DNA.size()];
+    }
+
+    public MedianStringSearch withThreads(int threads) {
+        return new MedianStringSearch(DNA, k, threads);
+    }
+
+    // Distance of a pattern occurring in the first text is an upper bound to start pruning with
+    private int initialBound() {
+        DNAWindowIndex index = new DNAWindowIndex(DNA, k);
+        PackedSequence first = PackedSequence.of(DNA.getFirst());
+        int[] bound = new int[]{k * DNA.size()};
+
+        first.forEachKMer(k, (position, code) ->
+                bound[0] = Math.min(bound[0], index.distance(code, bound[0])));
+
+        return bound[0];
+    }
+
+    public Result search() {
+        bestDistance.set(initialBound());
+        int splitDepth = 0;
+        while (splitDepth < k && (1L << (2 * splitDepth)) < 4L * threads) {
+            ++splitDepth;
+        }
+        int numPrefixes = 1 << (2 * splitDepth);
+        List<Callable<Subtree>> tasks = new ArrayList<>(numPrefixes);
+        for (int prefix = 0; prefix < numPrefixes; ++prefix) {
+            tasks.add(new Subtree(prefix, splitDepth));
+        }
+
+        List<Subtree> subtrees;
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            subtrees = Tasks.getFutureResults(pool, tasks);
+        }
+
+        int distance = bestDistance.get();
+        List<String> medians = new ArrayList<>();
+        long nodesVisited = 0, nodesPruned = 0;
+        for (Subtree subtree : subtrees) {
+            for (int i = 0; i < subtree.numCandidates; ++i) {
+                if (subtree.candidateDistances[i] == distance) {
+                    medians.add(PackedSequence.decode(subtree.candidates[i], k));
+                }
+            }
+            nodesVisited += subtree.nodesVisited;
+            nodesPruned += subtree.nodesPruned;
+        }
+
+        return new Result(distance, medians, nodesVisited, nodesPruned);
+    }
+
+    public record Result(int distance, List<String> medians, long nodesVisited, long nodesPruned) {
+    }
+
+    private final class Subtree implements Callable<Subtree> {
+
+        private final int prefix;
+        private final int prefixLength;
+        private int[][] mismatches;
+        private long[] candidates = new long[4];
+        private int[] candidateDistances = new int[4];
+        private int numCandidates;
+        private long nodesVisited;
+        private long nodesPruned;
+
+        private Subtree(int prefix, int prefixLength) {
+            this.prefix = prefix;
+            this.prefixLength = prefixLength;
+        }
+
+        @Override
+        public Subtree call() {
+            mismatches = new int[k + 1][numWindows];
+            if (descendPrefix()) {
+                descend(prefixLength, prefix);
+            }
+            mismatches = null;
+
+            return this;
+        }
+
+        private boolean descendPrefix() {
+            int bound = 0;
+            for (int depth = 0; depth < prefixLength; ++depth) {
+                bound = extend(depth, (prefix >>> (2 * (prefixLength - depth - 1))) & 3);
+                ++nodesVisited;
+                if (bound > bestDistance.get()) {
+                    ++nodesPruned;
+                    return false;
+                }
+            }
+            if (prefixLength == k) {
+                addCandidate(prefix, bound);
+                return false;
+            }
+
+            return true;
+        }
+
+        private void descend(int depth, long code) {
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                int bound = extend(depth, symbolCode);
+                ++nodesVisited;
+                if (bound > bestDistance.get()) {
+                    ++nodesPruned;
+                    continue;
+                }
+                long child = (code << 2) | symbolCode;
+                if (depth + 1 == k) {
+                    addCandidate(child, bound);
+                } else {
+                    descend(depth + 1, child);
+                }
+            }
+        }
+
+        // Fills mismatches[depth + 1] for the prefix extended by symbolCode and returns the lower
+        // bound, stopping early once the bound exceeds the best distance
+        private int extend(int depth, int symbolCode) {
+            int[] parent = mismatches[depth], child = mismatches[depth + 1];
+            int best = bestDistance.get(), bound = 0;
+
+            for (int i = 0; i < texts.length; ++i) {
+                byte[] text = texts[i];
+                int minMismatches = Integer.MAX_VALUE;
+                for (int w = windowOffsets[i], j = depth; w < windowOffsets[i + 1]; ++w, ++j) {
+                    int windowMismatches = parent[w] + ((text[j] == symbolCode) ? 0 : 1);
+                    child[w] = windowMismatches;
+                    minMismatches = Math.min(minMismatches, windowMismatches);
+                }
+                bound += minMismatches;
+                if (bound > best) {
+                    return bound;
+                }
+            }
+
+            return bound;
+        }
+
+        private void addCandidate(long code, int distance) {
+            if (bestDistance.accumulateAndGet(distance, Math::min) < distance) {
+                return;
+            }
+            if (numCandidates == candidates.length) {
+                candidates = Arrays.copyOf(candidates, 2 * numCandidates);
+                candidateDistances = Arrays.copyOf(candidateDistances, 2 * numCandidates);
+            }
+            candidates[numCandidates] = code;
+            candidateDistances[numCandidates++] = distance;
+        }
+    }
+}
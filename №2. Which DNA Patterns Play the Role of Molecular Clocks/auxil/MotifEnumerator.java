@@ -0,0 +1,254 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// (k, d)-motif enumeration by intersecting d-neighborhoods. The code space is cut into slices by the
+// first m symbols of a k-mer, and only the neighbors inside a slice are generated, by walking the
+// neighborhood tree with the first m symbols fixed; m is chosen so that a slice of the first text's
+// neighborhood fits the memory budget. For every slice the neighbors of the distinct windows of the
+// first text are sorted into an array of candidates, then the neighbors of every next text mark
+// the candidates they hit and the unmarked ones are dropped, until the slice is empty or all texts
+// are seen. Groups of slices are searched in parallel and concatenated in slice order, so the
+// motifs come out sorted.
+
+public class MotifEnumerator {
+
+    private static final int MAX_PREFIX_LENGTH = 12;
+
+    private final int k;
+    private final int d;
+    private final int threads;
+    private final long memoryBudget;
+
+    public MotifEnumerator(int k, int d) {
+        this(k, d, Tasks.POOL_SIZE, KMerCounter.DEFAULT_MEMORY_BUDGET);
+    }
+
+    private MotifEnumerator(int k, int d, int threads, long memoryBudget) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.d = Math.min(d, k);
+        this.threads = Math.max(1, threads);
+        this.memoryBudget = memoryBudget;
+    }
+
+    public MotifEnumerator withThreads(int threads) {
+        return new MotifEnumerator(k, d, threads, memoryBudget);
+    }
+
+    public MotifEnumerator withMemoryBudget(long memoryBudget) {
+        return new MotifEnumerator(k, d, threads, memoryBudget);
+    }
+
+    private static long[] distinctKMers(PackedSequence text, int k) {
+        long[] codes = new long[Math.max(0, text.length() - k + 1)];
+        int[] numCodes = new int[1];
+        text.forEachKMer(k, (position, code) -> codes[numCodes[0]++] = code);
+
+        return Arrays.copyOf(codes, sortDistinct(codes, numCodes[0]));
+    }
+
+    // Sorts the first numCodes codes, moves the distinct ones to the front and returns their number
+    private static int sortDistinct(long[] codes, int numCodes) {
+        Arrays.sort(codes, 0, numCodes);
+        int numDistinct = 0;
+        for (int i = 0; i < numCodes; ++i) {
+            if (numDistinct == 0 || codes[i] != codes[numDistinct - 1]) {
+                codes[numDistinct++] = codes[i];
+            }
+        }
+
+        return numDistinct;
+    }
+
+    // Number of n-mers within distance d of a fixed n-mer
+    private static double neighborhoodSize(int n, int d) {
+        double size = 0, term = 1;
+        for (int i = 0; i <= Math.min(n, d); ++i) {
+            size += term;
+            term = term * (n - i) / (i + 1) * 3;
+        }
+
+        return size;
+    }
+
+    private int prefixLength(int numWindows) {
+        int prefixLength = 0;
+        while (prefixLength < Math.min(k, MAX_PREFIX_LENGTH)
+                && ((1L << (2 * prefixLength)) < 4L * threads
+                || numWindows * neighborhoodSize(k - prefixLength, d) * Long.BYTES * threads
+                > memoryBudget)) {
+            ++prefixLength;
+        }
+
+        return prefixLength;
+    }
+
+    public long[] enumerate(List<PackedSequence> DNA) {
+        long[][] windows = new long[DNA.size()][];
+        for (int i = 0; i < DNA.size(); ++i) {
+            windows[i] = distinctKMers(DNA.get(i), k);
+        }
+        int prefixLength = prefixLength(windows[0].length);
+        long numSlices = 1L << (2 * prefixLength);
+        int numGroups = (int)Math.min(numSlices, 4L * threads);
+
+        List<Callable<long[]>> tasks = new ArrayList<>(numGroups);
+        for (int g = 0; g < numGroups; ++g) {
+            tasks.add(new SliceGroup(windows, prefixLength,
+                    numSlices * g / numGroups, numSlices * (g + 1) / numGroups));
+        }
+        List<long[]> groups = Tasks.getFutureResults(Math.min(threads, numGroups), tasks);
+
+        long[] motifs = new long[groups.stream().mapToInt(group -> group.length).sum()];
+        int numMotifs = 0;
+        for (long[] group : groups) {
+            System.arraycopy(group, 0, motifs, numMotifs, group.length);
+            numMotifs += group.length;
+        }
+
+        return motifs;
+    }
+
+    public List<String> enumerateStrings(List<String> DNA) {
+        long[] motifs = enumerate(DNA.stream().map(PackedSequence::of).toList());
+        List<String> patterns = new ArrayList<>(motifs.length);
+        for (long motif : motifs) {
+            patterns.add(PackedSequence.decode(motif, k));
+        }
+
+        return patterns;
+    }
+
+    private final class SliceGroup implements Callable<long[]> {
+
+        private final long[][] windows;
+        private final int prefixLength;
+        private final long from;
+        private final long to;
+        private final double sliceNeighborhoodSize;
+        private long prefix;
+        private long[] candidates = new long[16];
+        private int numCandidates;
+        private long[] hits = new long[1];
+        private boolean collecting;
+
+        private SliceGroup(long[][] windows, int prefixLength, long from, long to) {
+            this.windows = windows;
+            this.prefixLength = prefixLength;
+            this.from = from;
+            this.to = to;
+            this.sliceNeighborhoodSize = neighborhoodSize(k - prefixLength, d);
+        }
+
+        @Override
+        public long[] call() {
+            long[] motifs = new long[16];
+            int numMotifs = 0;
+
+            for (prefix = from; prefix < to; ++prefix) {
+                searchSlice();
+                if (numMotifs + numCandidates > motifs.length) {
+                    motifs = Arrays.copyOf(motifs, Math.max(2 * motifs.length,
+                            numMotifs + numCandidates));
+                }
+                System.arraycopy(candidates, 0, motifs, numMotifs, numCandidates);
+                numMotifs += numCandidates;
+            }
+
+            return Arrays.copyOf(motifs, numMotifs);
+        }
+
+        private void searchSlice() {
+            collecting = true;
+            numCandidates = 0;
+            for (long window : windows[0]) {
+                generate(window, 0, 0, d);
+            }
+            numCandidates = sortDistinct(candidates, numCandidates);
+
+            collecting = false;
+            for (int i = 1; i < windows.length && numCandidates > 0; ++i) {
+                if (numCandidates < sliceNeighborhoodSize) {
+                    keepNear(windows[i]);
+                    continue;
+                }
+                if (hits.length < (numCandidates + 63) / 64) {
+                    hits = new long[(numCandidates + 63) / 64];
+                } else {
+                    Arrays.fill(hits, 0, (numCandidates + 63) / 64, 0);
+                }
+                for (long window : windows[i]) {
+                    generate(window, 0, 0, d);
+                }
+
+                int numKept = 0;
+                for (int c = 0; c < numCandidates; ++c) {
+                    if ((hits[c >>> 6] & (1L << (c & 63))) != 0) {
+                        candidates[numKept++] = candidates[c];
+                    }
+                }
+                numCandidates = numKept;
+            }
+        }
+
+        // Once the candidates are fewer than the neighbors of one window, comparing every candidate
+        // with the windows of the text is cheaper than generating the neighborhoods
+        private void keepNear(long[] textWindows) {
+            int numKept = 0;
+            for (int c = 0; c < numCandidates; ++c) {
+                for (long window : textWindows) {
+                    if (PackedSequence.mismatches(window, candidates[c]) <= d) {
+                        candidates[numKept++] = candidates[c];
+                        break;
+                    }
+                }
+            }
+            numCandidates = numKept;
+        }
+
+        // Neighbors of window that agree with the prefix of the slice on the first symbols
+        private void generate(long window, int j, long code, int budget) {
+            if (j == k) {
+                accept(code);
+                return;
+            }
+            int windowSymbol = (int)(window >>> (2 * (k - j - 1))) & 3;
+
+            if (j < prefixLength) {
+                int symbol = (int)(prefix >>> (2 * (prefixLength - j - 1))) & 3;
+                int cost = (symbol == windowSymbol) ? 0 : 1;
+                if (cost <= budget) {
+                    generate(window, j + 1, (code << 2) | symbol, budget - cost);
+                }
+            } else if (budget == 0) {
+                int rest = k - j;
+                accept((code << (2 * rest)) | (window & PackedSequence.kMerMask(rest)));
+            } else {
+                for (int symbol = 0; symbol < 4; ++symbol) {
+                    generate(window, j + 1, (code << 2) | symbol,
+                            budget - ((symbol == windowSymbol) ? 0 : 1));
+                }
+            }
+        }
+
+        private void accept(long code) {
+            if (collecting) {
+                if (numCandidates == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, 2 * numCandidates);
+                }
+                candidates[numCandidates++] = code;
+            } else {
+                int c = Arrays.binarySearch(candidates, 0, numCandidates, code);
+                if (c >= 0) {
+                    hits[c >>> 6] |= 1L << (c & 63);
+                }
+            }
+        }
+    }
+}
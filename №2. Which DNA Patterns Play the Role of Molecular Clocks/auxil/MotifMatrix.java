@@ -0,0 +1,165 @@
+package auxil;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Count matrix of a multiset of k-mers (motifs) stored column-major in one flat array, counts[4 * j
+// + symbol code]. Adding or removing a motif touches k columns and refreshes their most frequent
+// symbol, so the consensus and the score (the sum over columns of the number of motifs minus the
+// largest count, i.e. the total Hamming distance to the consensus) are always up to date. Profiles
+// are written into caller-owned arrays, so a search can reuse one matrix and one profile buffer for
+// all its iterations.
+
+public class MotifMatrix {
+
+    private final int k;
+    private final int[] counts;
+    private final int[] columnMax;
+    private final byte[] consensus;
+    private int size;
+    private int matches;
+
+    public MotifMatrix(int k) {
+        this.k = k;
+        this.counts = new int[4 * k];
+        this.columnMax = new int[k];
+        this.consensus = new byte[k];
+    }
+
+    public static MotifMatrix of(List<String> motifs) {
+        MotifMatrix matrix = new MotifMatrix(motifs.getFirst().length());
+        for (String motif : motifs) {
+            matrix.add(motif);
+        }
+
+        return matrix;
+    }
+
+    private static int symbolToCode(char symbol) {
+        int symbolCode = PackedSequence.symbolToCode(symbol);
+        if (symbolCode < 0) {
+            throw new RuntimeException("Incorrect nucleotide: %c".formatted(symbol));
+        }
+
+        return symbolCode;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(int symbolCode, int j) {
+        return counts[4 * j + symbolCode];
+    }
+
+    public void add(CharSequence motif) {
+        for (int j = 0; j < k; ++j) {
+            ++counts[4 * j + symbolToCode(motif.charAt(j))];
+            updateColumn(j);
+        }
+        ++size;
+    }
+
+    public void remove(CharSequence motif) {
+        for (int j = 0; j < k; ++j) {
+            --counts[4 * j + symbolToCode(motif.charAt(j))];
+            updateColumn(j);
+        }
+        --size;
+    }
+
+    // Motif given as a 2-bit packed code, first symbol in the highest bits
+    public void add(long code) {
+        for (int j = k - 1; j > -1; --j) {
+            ++counts[4 * j + (int)(code & 3)];
+            updateColumn(j);
+            code >>>= 2;
+        }
+        ++size;
+    }
+
+    public void remove(long code) {
+        for (int j = k - 1; j > -1; --j) {
+            --counts[4 * j + (int)(code & 3)];
+            updateColumn(j);
+            code >>>= 2;
+        }
+        --size;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(columnMax, 0);
+        Arrays.fill(consensus, (byte)0);
+        size = 0;
+        matches = 0;
+    }
+
+    // Ties go to the first symbol in A, C, G, T order
+    private void updateColumn(int j) {
+        int column = 4 * j, maxCount = counts[column], maxSymbol = 0;
+        for (int symbolCode = 1; symbolCode < 4; ++symbolCode) {
+            if (counts[column + symbolCode] > maxCount) {
+                maxCount = counts[column + symbolCode];
+                maxSymbol = symbolCode;
+            }
+        }
+        matches += maxCount - columnMax[j];
+        columnMax[j] = maxCount;
+        consensus[j] = (byte)maxSymbol;
+    }
+
+    public int score() {
+        return size * k - matches;
+    }
+
+    public int consensusCode(int j) {
+        return consensus[j];
+    }
+
+    public String consensus() {
+        char[] symbols = new char[k];
+        for (int j = 0; j < k; ++j) {
+            symbols[j] = PackedSequence.codeToSymbol(consensus[j]);
+        }
+
+        return new String(symbols);
+    }
+
+    public int[][] toCountArray() {
+        int[][] count = new int[4][k];
+        for (int j = 0; j < k; ++j) {
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                count[symbolCode][j] = counts[4 * j + symbolCode];
+            }
+        }
+
+        return count;
+    }
+
+    // Row per symbol, as BA2C expects; pseudocount is added to every count
+    public double[][] profile(double[][] profile, int pseudocount) {
+        double total = size + 4 * pseudocount;
+        for (int j = 0; j < k; ++j) {
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                profile[symbolCode][j] = (counts[4 * j + symbolCode] + pseudocount) / total;
+            }
+        }
+
+        return profile;
+    }
+
+    // Column-major like the counts, profile[4 * j + symbol code]
+    public double[] profile(double[] profile, int pseudocount) {
+        double total = size + 4 * pseudocount;
+        for (int i = 0; i < counts.length; ++i) {
+            profile[i] = (counts[i] + pseudocount) / total;
+        }
+
+        return profile;
+    }
+}
@@ -0,0 +1,175 @@
+package auxil;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Profile-most probable k-mer search in log space. The profile is turned once into a column-major
+// table of logarithms, logs[4 * j + symbol code], so the probability of a window becomes a sum of k
+// table lookups and no longer underflows for long motifs; windows of a packed sequence are read as
+// a rolling 2-bit code. A zero probability becomes negative infinity, and as in BA2C the first
+// window with the largest probability wins, the first window if every probability is zero. Equal
+// products can differ in the last bits once summed as logarithms, so a later window only wins if
+// its sum is larger by more than a relative TIE_TOLERANCE; within it, a profile given by a
+// MotifMatrix compares the exact integer products of its counts with pseudocounts, and a profile
+// given as probabilities keeps the earlier window. Windows containing a non-ACGT symbol are
+// skipped. The tables can be refilled between iterations of a search, and are only read while
+// scanning, so one scanner can serve several threads at once.
+
+public class ProfileScanner {
+
+    private static final double TIE_TOLERANCE = 1e-10;
+
+    private final int k;
+    private final double[] logs;
+    private final long[] factors;
+    private boolean exactFactors;
+    private boolean productsFitInLong;
+
+    public ProfileScanner(int k) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.logs = new double[4 * k];
+        this.factors = new long[4 * k];
+    }
+
+    public ProfileScanner(double[][] profile) {
+        this(profile[0].length);
+        fillLogs(profile);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    private void fillLogs(double[][] profile) {
+        for (int j = 0; j < k; ++j) {
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                logs[4 * j + symbolCode] = Math.log(profile[symbolCode][j]);
+            }
+        }
+        exactFactors = false;
+    }
+
+    // Row per symbol, as BA2C expects
+    public ProfileScanner setProfile(double[][] profile) {
+        fillLogs(profile);
+
+        return this;
+    }
+
+    public ProfileScanner setProfile(MotifMatrix matrix, int pseudocount) {
+        double total = matrix.size() + 4 * pseudocount;
+        for (int j = 0; j < k; ++j) {
+            for (int symbolCode = 0; symbolCode < 4; ++symbolCode) {
+                factors[4 * j + symbolCode] = matrix.count(symbolCode, j) + pseudocount;
+                logs[4 * j + symbolCode] = Math.log(factors[4 * j + symbolCode] / total);
+            }
+        }
+        long maxFactor = matrix.size() + pseudocount;
+        exactFactors = true;
+        productsFitInLong = k * (64 - Long.numberOfLeadingZeros(maxFactor)) < 64;
+
+        return this;
+    }
+
+    public double logProbability(long code) {
+        double logProbability = 0;
+        for (int j = k - 1, column = 0; j > -1; --j, column += 4) {
+            logProbability += logs[column + (int)((code >>> (2 * j)) & 3)];
+        }
+
+        return logProbability;
+    }
+
+    private int compareProducts(long fCode, long sCode) {
+        if (productsFitInLong) {
+            long fProduct = 1, sProduct = 1;
+            for (int j = k - 1, column = 0; j > -1; --j, column += 4) {
+                fProduct *= factors[column + (int)((fCode >>> (2 * j)) & 3)];
+                sProduct *= factors[column + (int)((sCode >>> (2 * j)) & 3)];
+            }
+            return Long.compare(fProduct, sProduct);
+        }
+        BigInteger fProduct = BigInteger.ONE, sProduct = BigInteger.ONE;
+        for (int j = k - 1, column = 0; j > -1; --j, column += 4) {
+            fProduct = fProduct.multiply(BigInteger.valueOf(
+                    factors[column + (int)((fCode >>> (2 * j)) & 3)]));
+            sProduct = sProduct.multiply(BigInteger.valueOf(
+                    factors[column + (int)((sCode >>> (2 * j)) & 3)]));
+        }
+
+        return fProduct.compareTo(sProduct);
+    }
+
+    // Whether a later window beats the best one so far; near-equal sums are treated as ties
+    private boolean isMoreProbable(double logProbability, long code, double maxLogProbability,
+                                   long bestCode) {
+        if (maxLogProbability == Double.NEGATIVE_INFINITY) {
+            return logProbability > maxLogProbability;
+        }
+        double tolerance = TIE_TOLERANCE * Math.max(1, Math.abs(maxLogProbability));
+        if (logProbability > maxLogProbability + tolerance) {
+            return true;
+        }
+        if (!exactFactors || logProbability < maxLogProbability - tolerance) {
+            return false;
+        }
+
+        return compareProducts(code, bestCode) > 0;
+    }
+
+    // Start of the most probable window, or -1 if text has no window of unambiguous symbols
+    public int mostProbable(PackedSequence text) {
+        int numWindows = text.length() - k + 1;
+        long mask = PackedSequence.kMerMask(k);
+        long code = (numWindows > 0) ? text.kMerAt(0, k) : 0;
+        double maxLogProbability = Double.NEGATIVE_INFINITY;
+        long bestCode = 0;
+        int mostProbable = -1;
+
+        for (int w = 0; w < numWindows; ++w) {
+            if (w > 0) {
+                code = ((code << 2) | text.codeAt(w + k - 1)) & mask;
+            }
+            if (text.hasAmbiguity() && !text.isUnambiguous(w, w + k)) {
+                continue;
+            }
+            double logProbability = logProbability(code);
+            if (mostProbable < 0
+                    || isMoreProbable(logProbability, code, maxLogProbability, bestCode)) {
+                maxLogProbability = logProbability;
+                bestCode = code;
+                mostProbable = w;
+            }
+        }
+
+        return mostProbable;
+    }
+
+    public String mostProbableKMer(PackedSequence text) {
+        int position = mostProbable(text);
+        if (position < 0) {
+            throw new RuntimeException("Text has no k-mer of unambiguous nucleotides");
+        }
+
+        return text.substring(position, position + k);
+    }
+
+    public int[] mostProbable(List<PackedSequence> texts) {
+        return IntStream
+                .range(0, texts.size())
+                .parallel()
+                .map(i -> mostProbable(texts.get(i)))
+                .toArray();
+    }
+
+    public List<String> mostProbableKMers(List<PackedSequence> texts) {
+        return texts
+                .parallelStream()
+                .map(this::mostProbableKMer)
+                .toList();
+    }
+}
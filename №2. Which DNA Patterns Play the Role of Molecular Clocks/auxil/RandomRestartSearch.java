@@ -0,0 +1,138 @@
+package auxil;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Independent restarts of a randomized search, run in rounds of one restart per thread. Every
+// restart gets its own SplittableRandom split off a master seed in restart order, and the best
+// candidate (lowest score, earliest restart on ties) is chosen in restart order as well, so the
+// result for a given seed does not depend on the number of threads or on scheduling. Between
+// rounds the search stops once the restart budget or the time budget is used up, or once the best
+// score has not improved for the given number of consecutive restarts.
+
+public class RandomRestartSearch<T> {
+
+    private final Restart<T> restart;
+    private final long seed;
+    private final int maxRestarts;
+    private final Duration timeBudget;
+    private final int plateau;
+    private final int threads;
+    private final ExecutorService executor;
+
+    public RandomRestartSearch(Restart<T> restart) {
+        this(restart, new SplittableRandom().nextLong(), 1000, null, Integer.MAX_VALUE,
+                Tasks.POOL_SIZE, null);
+    }
+
+    private RandomRestartSearch(Restart<T> restart, long seed, int maxRestarts, Duration timeBudget,
+                                int plateau, int threads, ExecutorService executor) {
+        this.restart = restart;
+        this.seed = seed;
+        this.maxRestarts = maxRestarts;
+        this.timeBudget = timeBudget;
+        this.plateau = plateau;
+        this.threads = Math.max(1, threads);
+        this.executor = executor;
+    }
+
+    public RandomRestartSearch<T> withSeed(long seed) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    public RandomRestartSearch<T> withMaxRestarts(int maxRestarts) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    public RandomRestartSearch<T> withTimeBudget(Duration timeBudget) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    public RandomRestartSearch<T> withPlateau(int plateau) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    public RandomRestartSearch<T> withThreads(int threads) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    // Restarts run on the given executor, which is left open; one round holds threads restarts
+    public RandomRestartSearch<T> withExecutor(ExecutorService executor, int threads) {
+        return new RandomRestartSearch<>(restart, seed, maxRestarts, timeBudget, plateau, threads,
+                executor);
+    }
+
+    public Result<T> run() {
+        if (executor != null) {
+            return run(executor);
+        }
+        if (threads == 1) {
+            return run(null);
+        }
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            return run(pool);
+        }
+    }
+
+    private Result<T> run(ExecutorService pool) {
+        long deadline = (timeBudget == null)
+                ? Long.MAX_VALUE : System.nanoTime() + timeBudget.toNanos();
+        SplittableRandom master = new SplittableRandom(seed);
+        Candidate<T> best = null;
+        int restarts = 0, sinceImprovement = 0;
+
+        while (restarts < maxRestarts && sinceImprovement < plateau
+                && System.nanoTime() < deadline) {
+            int roundSize = Math.min(threads, maxRestarts - restarts);
+            List<Callable<Candidate<T>>> round = new ArrayList<>(roundSize);
+            for (int i = 0; i < roundSize; ++i) {
+                SplittableRandom random = master.split();
+                round.add(() -> restart.run(random));
+            }
+            List<Candidate<T>> candidates = (pool == null)
+                    ? Tasks.getFutureResults(1, round)
+                    : Tasks.getFutureResults(pool, round);
+
+            // Restarts past the plateau are dropped, as if the rounds were one restart long
+            for (Candidate<T> candidate : candidates) {
+                if (sinceImprovement >= plateau) {
+                    break;
+                }
+                ++restarts;
+                if (best == null || candidate.score() < best.score()) {
+                    best = candidate;
+                    sinceImprovement = 0;
+                } else {
+                    ++sinceImprovement;
+                }
+            }
+        }
+        if (best == null) {
+            throw new RuntimeException("No restart was run");
+        }
+
+        return new Result<>(best.value(), best.score(), restarts);
+    }
+
+    @FunctionalInterface
+    public interface Restart<T> {
+
+        Candidate<T> run(SplittableRandom random);
+    }
+
+    public record Candidate<T>(T value, int score) {
+    }
+
+    public record Result<T>(T best, int score, int restarts) {
+    }
+}
@@ -48,7 +48,6 @@ public class BA3A {
             kMers.add(text.substring(i, i + k));
         }
         kMers.sort(new LexicographicOrderStringComparator());
-        UTIL.writeToFileWithNewlines(kMers);
 
         return kMers;
     }
@@ -56,11 +55,13 @@ public class BA3A {
     public static List<String> getStringComposition(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
 
-        return getStringCompositionMachinery(Integer.parseInt(strDataset.getFirst()),
-                strDataset.getLast());
+        return getStringComposition(Integer.parseInt(strDataset.getFirst()), strDataset.getLast());
     }
 
     public static List<String> getStringComposition(int k, String text) {
-        return getStringCompositionMachinery(k, text);
+        List<String> kMers = getStringCompositionMachinery(k, text);
+        UTIL.writeToFileWithNewlines(kMers);
+
+        return kMers;
     }
 }
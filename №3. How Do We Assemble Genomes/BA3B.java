@@ -39,16 +39,18 @@ public class BA3B {
         for (int i = 1; i < sequenceSize; ++i) {
             text.append(sequence.get(i).charAt(patternLength - 1));
         }
-        UTIL.writeToFile(List.of(text.toString()));
 
         return text.toString();
     }
 
     public static String reconstructAStringFromItsGenomePath(Path path) {
-        return reconstructAStringFromItsGenomePathMachinery(UTIL.readDataset(path));
+        return reconstructAStringFromItsGenomePath(UTIL.readDataset(path));
     }
 
     public static String reconstructAStringFromItsGenomePath(List<String> sequence) {
-        return reconstructAStringFromItsGenomePathMachinery(sequence);
+        String text = reconstructAStringFromItsGenomePathMachinery(sequence);
+        UTIL.writeToFile(List.of(text));
+
+        return text;
     }
 }
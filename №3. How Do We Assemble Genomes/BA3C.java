@@ -35,8 +35,10 @@
 // GGCAT -> GCATG
 // -------------
 
-import java.io.FileWriter;
+import auxil.OverlapGraphBuilder;
+
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,56 +48,61 @@ import java.util.Map;
 public class BA3C {
 
     private static Map<String, List<String>>
-    constructOverlapGraphMachinery(List<String> patterns) {
-        int patternLength = patterns.getFirst().length();
-        List<String> sortedPatterns = new ArrayList<>(patterns);
-        sortedPatterns.sort(new LexicographicOrderStringComparator());
+    constructOverlapGraphMachinery(List<String> patterns, int minOverlap, int maxMismatches) {
+        OverlapGraphBuilder.OverlapGraph graph = new OverlapGraphBuilder(minOverlap)
+                .withMaxMismatches(maxMismatches)
+                .build(patterns);
         Map<String, List<String>> overlapGraph = new HashMap<>();
-        for (String pattern : sortedPatterns) {
+        for (String pattern : patterns) {
             if (!overlapGraph.containsKey(pattern)) {
                 overlapGraph.put(pattern, new ArrayList<>());
             }
         }
 
-        for (String outerPattern : patterns) {
-            String suffix = outerPattern.substring(1);
-            for (String innerPattern : patterns) {
-                if (suffix.equals(innerPattern.substring(0, patternLength - 1))) {
-                    overlapGraph.get(outerPattern).add(innerPattern);
-                }
+        for (int a = 0; a < graph.numReads(); ++a) {
+            List<String> adjacents = overlapGraph.get(patterns.get(a));
+            for (int e = graph.edgeStart(a); e < graph.edgeEnd(a); ++e) {
+                adjacents.add(patterns.get(graph.target(e)));
             }
         }
 
-        for (String pattern : sortedPatterns) {
-            List<String> adjacents = overlapGraph.get(pattern);
-            if (!adjacents.isEmpty()) {
-                for (String adjacent : adjacents) {
-                    System.out.printf("%s -> %s\n".formatted(pattern, adjacent));
-                }
-            }
+        return overlapGraph;
+    }
+
+    private static void writeOverlapGraph(Map<String, List<String>> overlapGraph) {
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
         }
+        List<String> sortedPatterns = new ArrayList<>(overlapGraph.keySet());
+        sortedPatterns.sort(new LexicographicOrderStringComparator());
 
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
             for (String pattern : sortedPatterns) {
-                List<String> adjacents = overlapGraph.get(pattern);
-                if (!adjacents.isEmpty()) {
-                    for (String adjacent : adjacents) {
-                        fileWriter.write("%s -> %s\n".formatted(pattern, adjacent));
-                    }
+                for (String adjacent : overlapGraph.get(pattern)) {
+                    fileWriter.write("%s -> %s\n".formatted(pattern, adjacent));
                 }
             }
         } catch (IOException e) {
             System.out.println("Failed to write to file");
         }
-
-        return overlapGraph;
     }
 
     public static Map<String, List<String>> constructOverlapGraph(Path path) {
-        return constructOverlapGraphMachinery(UTIL.readDataset(path));
+        return constructOverlapGraph(UTIL.readDataset(path));
     }
 
     public static Map<String, List<String>> constructOverlapGraph(List<String> patterns) {
-        return constructOverlapGraphMachinery(patterns);
+        return constructOverlapGraph(patterns, patterns.getFirst().length() - 1, 0);
+    }
+
+    // Reads of any length overlapping by at least minOverlap symbols with up to maxMismatches
+    // mismatches
+    public static Map<String, List<String>>
+    constructOverlapGraph(List<String> patterns, int minOverlap, int maxMismatches) {
+        Map<String, List<String>> overlapGraph =
+                constructOverlapGraphMachinery(patterns, minOverlap, maxMismatches);
+        writeOverlapGraph(overlapGraph);
+
+        return overlapGraph;
     }
 }
@@ -33,44 +33,28 @@
 // TTC -> TCT
 // -------------
 
-import java.io.FileWriter;
-import java.io.IOException;
+import auxil.DeBruijnGraph;
+
 import java.nio.file.Path;
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 
 public class BA3D {
 
-    private static Map<String, List<String>> constructDeBruijnGraphMachinery(int k, String text) {
-        int decK = k - 1;
-        int textLength = text.length();
-        String prefix, suffix;
-        Comparator<String> stringComparator = new LexicographicOrderStringComparator();
-        Map<String, List<String>> deBruijnGraph = new TreeMap<>(stringComparator);
-
-        for (int i = 0; i < textLength - k + 1; ++i) {
-            prefix = text.substring(i, i + decK);
-            suffix = text.substring(i + 1, i + 1 + decK);
-
-            if (deBruijnGraph.containsKey(prefix)) {
-                deBruijnGraph.get(prefix).add(suffix);
-            } else {
-                deBruijnGraph.put(prefix, new ArrayList<>(List.of(suffix)));
-            }
-        }
-        BA3UTIL.sortGraphAdjLists(deBruijnGraph, stringComparator);
-        BA3UTIL.writeGraphToFile(deBruijnGraph);
-
-        return deBruijnGraph;
+    private static DeBruijnGraph constructDeBruijnGraphMachinery(int k, String text) {
+        return DeBruijnGraph.of(k, text);
     }
 
     public static Map<String, List<String>> constructDeBruijnGraph(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
 
-        return constructDeBruijnGraphMachinery(Integer.parseInt(strDataset.getFirst()),
-                strDataset.getLast());
+        return constructDeBruijnGraph(Integer.parseInt(strDataset.getFirst()), strDataset.getLast());
     }
 
     public static Map<String, List<String>> constructDeBruijnGraph(int k, String text) {
-        return constructDeBruijnGraphMachinery(k, text);
+        DeBruijnGraph deBruijnGraph = constructDeBruijnGraphMachinery(k, text);
+        BA3UTIL.writeGraphToFile(deBruijnGraph);
+
+        return deBruijnGraph.toMap();
     }
 }
@@ -43,39 +43,26 @@
 // GGG -> GGA,GGG
 // -------------
 
+import auxil.DeBruijnGraph;
+
 import java.nio.file.Path;
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 
 public class BA3E {
 
-    private static Map<String, List<String>>
-    constructDeBruijnGraphFromKMersMachinery(List<String> kMers) {
-        int decK = kMers.getFirst().length() - 1;
-        String prefix, suffix;
-        Comparator<String> stringComparator = new LexicographicOrderStringComparator();
-        Map<String, List<String>> deBruijnGraph = new TreeMap<>(stringComparator);
-
-        for (String kMer : kMers) {
-            prefix = kMer.substring(0, decK);
-            suffix = kMer.substring(1);
-
-            if (deBruijnGraph.containsKey(prefix)) {
-                deBruijnGraph.get(prefix).add(suffix);
-            } else {
-                deBruijnGraph.put(prefix, new ArrayList<>(List.of(suffix)));
-            }
-        }
-        BA3UTIL.sortGraphAdjLists(deBruijnGraph, stringComparator);
-        BA3UTIL.writeGraphToFile(deBruijnGraph);
-
-        return deBruijnGraph;
+    private static DeBruijnGraph constructDeBruijnGraphFromKMersMachinery(List<String> kMers) {
+        return DeBruijnGraph.of(kMers);
     }
 
     public static Map<String, List<String>> constructDeBruijnGraphFromKMers(Path path) {
-        return constructDeBruijnGraphFromKMersMachinery(UTIL.readDataset(path));
+        return constructDeBruijnGraphFromKMers(UTIL.readDataset(path));
     }
 
     public static Map<String, List<String>> constructDeBruijnGraphFromKMers(List<String> kMers) {
-        return constructDeBruijnGraphFromKMersMachinery(kMers);
+        DeBruijnGraph deBruijnGraph = constructDeBruijnGraphFromKMersMachinery(kMers);
+        BA3UTIL.writeGraphToFile(deBruijnGraph);
+
+        return deBruijnGraph.toMap();
     }
 }
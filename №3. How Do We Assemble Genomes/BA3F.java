@@ -48,28 +48,13 @@ import java.util.*;
 public class BA3F {
 
     private static<T> List<T> findEulerianCycleMachinery(Map<T, List<T>> graph) {
-        T v = graph.keySet().stream().toList().getFirst();
-        Deque<T> currentPath = new ArrayDeque<>(List.of(v));
-        List<T> circuit = new ArrayList<>();
+        List<T> nodes = new ArrayList<>();
+        int[] circuit = BA3UTIL.toEulerianEngine(graph, nodes).cycle();
 
-        while (!currentPath.isEmpty()) {
-            // If there's remaining edge
-            if (graph.get(v).isEmpty()) {
-                circuit.add(v);
-                v = currentPath.pop();
-            } else {
-                // Push the vertex
-                currentPath.push(v);
-                // Find the next vertex using an edge and remove that edge
-                // amd move to next vertex
-                v = graph.get(v).removeLast();
-                // Move to next vertex
-            }
-        }
-        circuit = circuit.reversed();
-        BA3UTIL.writePathToFile(circuit);
-
-        return circuit;
+        return Arrays
+                .stream(circuit)
+                .mapToObj(nodes::get)
+                .toList();
     }
 
     public static List<Integer> findEulerianCycle(Path path) {
@@ -85,10 +70,13 @@ public class BA3F {
                             .toList()));
         }
 
-        return findEulerianCycleMachinery(graph);
+        return findEulerianCycle(graph);
     }
 
     public static<T> List<T> findEulerianCycle(Map<T, List<T>> graph) {
-        return findEulerianCycleMachinery(graph);
+        List<T> circuit = findEulerianCycleMachinery(graph);
+        BA3UTIL.writePathToFile(circuit);
+
+        return circuit;
     }
 }
@@ -37,60 +37,14 @@ import java.util.*;
 
 public class BA3G {
 
-    private static<T> List<T>
-    findEulerianPathMachinery(Map<T, List<T>> graph, Map<T, int[]> inOutDegrees) {
-        T start = null, end = null;
-        for (T node : inOutDegrees.keySet()) {
-            int[] degrees = inOutDegrees.get(node);
-            if (degrees[0] != degrees[1]) {
-                if (degrees[0] + 1 == degrees[1]) {
-                    start = node;
-                } else if (degrees[1] + 1 == degrees[0]) {
-                    end = node;
-                }
-            }
-        }
-        if (start == null || end == null) {
-            throw new RuntimeException("Provided graph doesn't contain an Eulerian path");
-        }
-        if (graph.containsKey(end)) {
-            graph.get(end).add(start);
-        } else {
-            graph.put(end, new ArrayList<>(List.of(start)));
-        }
-        List<T> circuit = BA3F.findEulerianCycle(graph).stream().skip(1).toList();
-        int indexOfStart = circuit.indexOf(start), circuitSize = circuit.size();
-        List<T> path = new ArrayList<>();
-        for (int i = indexOfStart; i < circuitSize + indexOfStart; ++i) {
-            path.add(circuit.get(i % circuitSize));
-        }
-        BA3UTIL.writePathToFile(path);
+    private static<T> List<T> findEulerianPathMachinery(Map<T, List<T>> graph) {
+        List<T> nodes = new ArrayList<>();
+        int[] path = BA3UTIL.toEulerianEngine(graph, nodes).path();
 
-        return path;
-    }
-
-    private static<T> List<T> findEulerianPathWrapper(Map<T, List<T>> graph) {
-        Map<T, int[]> inOutDegrees = new HashMap<>();
-        List<T> adjList;
-
-        for (T node : graph.keySet()) {
-            adjList = graph.get(node);
-
-            if (inOutDegrees.containsKey(node)) {
-                inOutDegrees.get(node)[1] = adjList.size();
-            } else {
-                inOutDegrees.put(node, new int[]{0, adjList.size()});
-            }
-            for (T adjNode : adjList) {
-                if (inOutDegrees.containsKey(adjNode)) {
-                    ++inOutDegrees.get(adjNode)[0];
-                } else {
-                    inOutDegrees.put(adjNode, new int[]{1, 0});
-                }
-            }
-        }
-
-        return findEulerianPathMachinery(graph, inOutDegrees);
+        return Arrays
+                .stream(path)
+                .mapToObj(nodes::get)
+                .toList();
     }
 
     public static List<Integer> findEulerianPath(Path path) {
@@ -104,10 +58,13 @@ public class BA3G {
                     .toList()));
         }
 
-        return findEulerianPathWrapper(graph);
+        return findEulerianPath(graph);
     }
 
     public static<T> List<T> findEulerianPath(Map<T, List<T>> graph) {
-        return findEulerianPathWrapper(graph);
+        List<T> path = findEulerianPathMachinery(graph);
+        BA3UTIL.writePathToFile(path);
+
+        return path;
     }
 }
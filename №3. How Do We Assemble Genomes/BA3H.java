@@ -26,36 +26,28 @@
 // GGCTTACCA
 // -------------
 
+import auxil.DeBruijnGraph;
+import auxil.EulerianEngine;
+import auxil.PackedSequence;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class BA3H {
 
     private static String
     reconstructAStringFromItsKMerCompositionMachinery(int k, List<String> kMers) {
-        int decK = k - 1;
-        String prefix, suffix;
-        Map<String, List<String>> deBruijnGraph = new HashMap<>();
-
+        DeBruijnGraph.Builder builder = new DeBruijnGraph.Builder(k);
         for (String kMer : kMers) {
-            prefix = kMer.substring(0, decK);
-            suffix = kMer.substring(1);
-
-            if (deBruijnGraph.containsKey(prefix)) {
-                deBruijnGraph.get(prefix).add(suffix);
-            } else {
-                deBruijnGraph.put(prefix, new ArrayList<>(List.of(suffix)));
-            }
+            builder.add(kMer);
         }
-        List<String> path = BA3G.findEulerianPath(deBruijnGraph);
-        StringBuilder text = new StringBuilder(path.getFirst());
-        for (int i = 1; i < path.size(); ++i) {
-            text.append(path.get(i).charAt(decK - 1));
+        DeBruijnGraph deBruijnGraph = builder.build();
+        int[] path = EulerianEngine.of(deBruijnGraph).path();
+        StringBuilder text = new StringBuilder(path.length + k - 2);
+        text.append(deBruijnGraph.node(path[0]));
+        for (int i = 1; i < path.length; ++i) {
+            text.append(PackedSequence.codeToSymbol((int)(deBruijnGraph.nodeCode(path[i]) & 3)));
         }
-        BA3UTIL.writePathToFile(List.of(text));
 
         return text.toString();
     }
@@ -63,12 +55,14 @@ public class BA3H {
     public static String reconstructAStringFromItsKMerComposition(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
 
-        return reconstructAStringFromItsKMerCompositionMachinery(
-                Integer.parseInt(strDataset.getFirst()),
+        return reconstructAStringFromItsKMerComposition(Integer.parseInt(strDataset.getFirst()),
                 strDataset.stream().skip(1).toList());
     }
 
     public static String reconstructAStringFromItsKMerComposition(int k, List<String> kMers) {
-        return reconstructAStringFromItsKMerCompositionMachinery(k, kMers);
+        String text = reconstructAStringFromItsKMerCompositionMachinery(k, kMers);
+        BA3UTIL.writePathToFile(List.of(text));
+
+        return text;
     }
 }
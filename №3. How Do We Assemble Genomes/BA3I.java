@@ -24,47 +24,36 @@
 // 0000110010111101
 // -------------
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import auxil.DeBruijnSequence;
+
+import java.io.IOException;
+import java.io.Writer;
 
 public class BA3I {
 
-    private static String repeatZeroes(int times) {
-        return "0".repeat(Math.max(0, times));
+    private static String findAKUniversalCircularStringMachinery(int k, String alphabet) {
+        return new DeBruijnSequence(alphabet, k).generate();
     }
 
-    private static String findAKUniversalCircularBinaryStringMachinery(int k) {
-        int decK = k - 1;
-        int numBinaryString = (int)Math.pow(2, k);
-        String binaryString, prefix, suffix;
-        Map<String, List<String>> deBruijnGraph = new HashMap<>();
+    public static String findAKUniversalCircularBinaryString(int k) {
+        return findAKUniversalCircularString(k, DeBruijnSequence.BINARY);
+    }
 
-        for (int i = 0; i < numBinaryString; ++i) {
-            binaryString = Integer.toBinaryString(i);
-            binaryString = "%s%s".formatted(
-                    repeatZeroes(k - binaryString.length()),
-                    binaryString);
-            prefix = binaryString.substring(0, decK);
-            suffix = binaryString.substring(1);
+    public static String findAKUniversalCircularString(int k, String alphabet) {
+        return findAKUniversalCircularStringMachinery(k, alphabet);
+    }
 
-            if (deBruijnGraph.containsKey(prefix)) {
-                deBruijnGraph.get(prefix).add(suffix);
-            } else {
-                deBruijnGraph.put(prefix, new ArrayList<>(List.of(suffix)));
-            }
+    // Streams the string to the result sink, so it never has to fit in memory
+    public static void writeAKUniversalCircularString(int k, String alphabet) {
+        DeBruijnSequence sequence = new DeBruijnSequence(alphabet, k);
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
         }
-        List<String> circuit = BA3F.findEulerianCycle(deBruijnGraph);
-        StringBuilder circularString = new StringBuilder(circuit.getFirst());
-        for (int i = 1; i < circuit.size() - decK; ++i) {
-            circularString.append(circuit.get(i).charAt(decK - 1));
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
+            sequence.write(fileWriter);
+            fileWriter.write("\n");
+        } catch (IOException e) {
+            System.out.println("Failed to write to file");
         }
-
-        return circularString.toString();
-    }
-
-    public static String findAKUniversalCircularBinaryString(int k) {
-        return findAKUniversalCircularBinaryStringMachinery(k);
     }
 }
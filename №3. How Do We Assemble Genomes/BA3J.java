@@ -45,57 +45,56 @@
 // GTGGTCGTGAGATGTTGA
 // -------------
 
+import auxil.PairedDeBruijnGraph;
+
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class BA3J {
 
     private static String
-    reconstructAStringFromItsPairedCompositionMachinery(int k, int d, Map<Pair<String, String>,
-            List<Pair<String, String>>> graph) {
-        List<Pair<String, String>> kMerPairsEulerianPath = BA3G.findEulerianPath(graph);
-        List<String> kDMers = kMerPairsEulerianPath
-                .stream()
-                .map(kMerPair -> kMerPair
-                        .getFirst()
-                        .concat("|")
-                        .concat(kMerPair.getSecond()))
-                .toList();
-        String reconstructedString = BA3L.stringSpelledByGappedPatterns(kDMers, k - 1, d + 1);
-        UTIL.writeToFile(List.of(reconstructedString));
-
-        return reconstructedString;
+    reconstructAStringFromItsPairedCompositionMachinery(PairedDeBruijnGraph graph) {
+        return graph.spell();
     }
 
     public static String reconstructAStringFromItsPairedComposition(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
-        int decK = intParams.getFirst() - 1, d = intParams.getLast();
-        Map<Pair<String, String>, List<Pair<String, String>>> pairedDeBruijnGraph = new HashMap<>();
-        for (int i = 1; i < strDataset.size(); ++i) {
-            String[] splitReadPair = strDataset.get(i).split("\\|");
-            Pair<String, String> prefix = new Pair<>(splitReadPair[0].substring(0, decK),
-                    splitReadPair[1].substring(0, decK));
-            Pair<String, String> suffix = new Pair<>(splitReadPair[0].substring(1),
-                    splitReadPair[1].substring(1));
 
-            if (pairedDeBruijnGraph.containsKey(prefix)) {
-                pairedDeBruijnGraph.get(prefix).add(suffix);
-            } else {
-                pairedDeBruijnGraph.put(prefix, new ArrayList<>(List.of(suffix)));
-            }
+        return reconstructAStringFromItsPairedComposition(intParams.getFirst(), intParams.getLast(),
+                strDataset.subList(1, strDataset.size()));
+    }
+
+    // Read pairs written as Pattern1|Pattern2
+    public static String
+    reconstructAStringFromItsPairedComposition(int k, int d, List<String> pairedReads) {
+        PairedDeBruijnGraph.Builder builder = new PairedDeBruijnGraph.Builder(k, d);
+        for (String readPair : pairedReads) {
+            builder.add(readPair);
         }
 
-        return reconstructAStringFromItsPairedCompositionMachinery(decK + 1, d,
-                pairedDeBruijnGraph);
+        return reconstructAStringFromItsPairedComposition(builder.build());
     }
 
     public static String
     reconstructAStringFromItsPairedComposition(int k, int d, Map<Pair<String, String>,
             List<Pair<String, String>>> graph) {
-        return reconstructAStringFromItsPairedCompositionMachinery(k, d, graph);
+        PairedDeBruijnGraph.Builder builder = new PairedDeBruijnGraph.Builder(k, d);
+        graph.forEach((prefix, suffixes) -> {
+            for (Pair<String, String> suffix : suffixes) {
+                builder.add(prefix.getFirst() + suffix.getFirst().charAt(k - 2),
+                        prefix.getSecond() + suffix.getSecond().charAt(k - 2));
+            }
+        });
+
+        return reconstructAStringFromItsPairedComposition(builder.build());
+    }
+
+    public static String reconstructAStringFromItsPairedComposition(PairedDeBruijnGraph graph) {
+        String reconstructedString = reconstructAStringFromItsPairedCompositionMachinery(graph);
+        UTIL.writeToFile(List.of(reconstructedString));
+
+        return reconstructedString;
     }
 }
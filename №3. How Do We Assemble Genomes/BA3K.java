@@ -45,46 +45,45 @@
 // AGA ATG ATG CAT GAT TGGA TGT
 // -------------
 
+import auxil.ContigBuilder;
+import auxil.DeBruijnGraph;
+import auxil.SolidKMerCounter;
+
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.ArrayList;
 
 public class BA3K {
 
-    private static String contigPathToString(List<String> contigPath) {
-        int contigPathSize = contigPath.size();
-        String head = contigPath.getFirst();
-        int decPathNodeLength = head.length() - 1;
-        StringBuilder contig = new StringBuilder(head);
-
-        for (int i = 1; i < contigPathSize; ++i) {
-            contig.append(contigPath.get(i).charAt(decPathNodeLength));
-        }
-
-        return contig.toString();
-    }
-
     private static List<String> generateContigsMachinery(List<String> patterns) {
-        Map<String, List<String>> deBruijnGraph = BA3E.constructDeBruijnGraphFromKMers(patterns);
-        List<List<String>> contigPaths = BA3UTIL.findAllMaximalNonBranchingPaths(deBruijnGraph);
-        List<String> contigs = new ArrayList<>();
-
-        for (List<String> contigPath : contigPaths) {
-            contigs.add(contigPathToString(contigPath));
-        }
-        UTIL.writeToFile(contigs);
+        return new ContigBuilder(DeBruijnGraph.of(patterns))
+                .build()
+                .toList();
+    }
 
-        return contigs;
+    private static List<String> generateContigsFromReadsMachinery(Path reads, int k, int minCount) {
+        return new ContigBuilder(new SolidKMerCounter(k, minCount).graph(reads))
+                .build()
+                .toList();
     }
 
     public static List<String> generateContigs(Path path) {
         List<String> patterns = UTIL.readDataset(path);
 
-        return generateContigsMachinery(patterns);
+        return generateContigs(patterns);
     }
 
     public static List<String> generateContigs(List<String> patterns) {
-        return generateContigsMachinery(patterns);
+        List<String> contigs = generateContigsMachinery(patterns);
+        UTIL.writeToFile(contigs);
+
+        return contigs;
+    }
+
+    // Contigs of the k-mers seen at least minCount times in a FASTA, FASTQ or one-read-per-line file
+    public static List<String> generateContigs(Path reads, int k, int minCount) {
+        List<String> contigs = generateContigsFromReadsMachinery(reads, k, minCount);
+        UTIL.writeToFile(contigs);
+
+        return contigs;
     }
 }
@@ -47,7 +47,7 @@ public class BA3L {
 
     private static String
     stringSpelledByGappedPatternsMachinery(List<String> gappedPatterns, int k, int d) {
-        String prefixString, suffixString, spelledString;
+        String prefixString, suffixString;
         List<String> firstPatterns = new ArrayList<>(), secondPatterns = new ArrayList<>();
         for (String gappedPattern : gappedPatterns) {
             String[] patterns = gappedPattern.split("\\|");
@@ -63,22 +63,24 @@ public class BA3L {
                 return null;
             }
         }
-        spelledString = prefixString.concat(suffixString
-                .substring(prefixStringLength - k - d));
-        UTIL.writeToFile(List.of(spelledString));
 
-        return spelledString;
+        return prefixString.concat(suffixString.substring(prefixStringLength - k - d));
     }
 
     public static String stringSpelledByGappedPatterns(Path path) {
         List<String> strDataset = UTIL.readDataset(path);
         List<Integer> intParams = UTIL.parseIntArray(strDataset.getFirst());
 
-        return stringSpelledByGappedPatternsMachinery(strDataset.stream().skip(1).toList(),
+        return stringSpelledByGappedPatterns(strDataset.stream().skip(1).toList(),
                 intParams.getFirst(), intParams.getLast());
     }
 
     public static String stringSpelledByGappedPatterns(List<String> gappedPatterns, int k, int d) {
-        return stringSpelledByGappedPatternsMachinery(gappedPatterns, k, d);
+        String spelledString = stringSpelledByGappedPatternsMachinery(gappedPatterns, k, d);
+        if (spelledString != null) {
+            UTIL.writeToFile(List.of(spelledString));
+        }
+
+        return spelledString;
     }
 }
@@ -60,56 +60,9 @@ import java.util.*;
 
 public class BA3M {
 
-    private static List<Integer>
-    getIsolatedCycle(Map<Integer, List<Integer>> graph, int node,
-                     Map<Integer, int[]> inOutDegrees, Map<Integer, Boolean> visited,
-                     List<Integer> cycle) {
-        visited.put(node, true);
-        cycle.add(node);
-
-        for (int adjNode : graph.get(node)) {
-            int[] degs = inOutDegrees.get(adjNode);
-            if (degs[0] == 1 && degs[1] == 1) {
-                if (visited.get(adjNode) && adjNode == cycle.getFirst()) {
-                    cycle.add(adjNode);
-                    return cycle;
-                } else {
-                    cycle = getIsolatedCycle(graph, adjNode, inOutDegrees, visited, cycle);
-                    if (!cycle.isEmpty()) {
-                        return cycle;
-                    }
-                }
-            }
-        }
-
-        return List.of();
-    }
-
     private static List<List<Integer>>
     findAllMaximalNonBranchingPathsMachinery(Map<Integer, List<Integer>> graph) {
-        Map<Integer, int[]> inOutDegrees = BA3UTIL.getInOutDegrees(graph);
-        List<List<Integer>> paths = BA3UTIL.findAllMaximalNonBranchingPaths(graph, inOutDegrees);
-        List<Integer> cycle;
-        Map<Integer, Boolean> colors = new HashMap<>();
-        for (int node : graph.keySet()) {
-            colors.put(node, false);
-        }
-
-        for (int node : graph.keySet()) {
-            int[] degs = inOutDegrees.get(node);
-            if (degs[0] == 1 && degs[1] == 1) {
-                if (!colors.get(node)) {
-                    cycle = getIsolatedCycle(graph, node, inOutDegrees, colors,
-                            new ArrayList<>());
-                    if (!cycle.isEmpty()) {
-                        paths.add(cycle);
-                    }
-                }
-            }
-        }
-        BA3UTIL.writeListOfPathsToFile(paths);
-
-        return paths;
+        return BA3UTIL.findAllMaximalNonBranchingPathsAndIsolatedCycles(graph);
     }
 
     public static List<List<Integer>> findAllMaximalNonBranchingPaths(Path path) {
@@ -124,12 +77,15 @@ public class BA3M {
                     .toList());
         }
 
-        return findAllMaximalNonBranchingPathsMachinery(graph);
+        return findAllMaximalNonBranchingPaths(graph);
     }
 
 
     public static List<List<Integer>>
     findAllMaximalNonBranchingPaths(Map<Integer, List<Integer>> graph) {
-        return findAllMaximalNonBranchingPathsMachinery(graph);
+        List<List<Integer>> paths = findAllMaximalNonBranchingPathsMachinery(graph);
+        BA3UTIL.writeListOfPathsToFile(paths);
+
+        return paths;
     }
 }
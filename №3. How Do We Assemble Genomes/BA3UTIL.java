@@ -1,5 +1,8 @@
-import java.io.FileWriter;
+import auxil.DeBruijnGraph;
+import auxil.EulerianEngine;
+
 import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
 public class BA3UTIL {
@@ -25,7 +28,10 @@ public class BA3UTIL {
     }
 
     public static void writeGraphToFile(Map<String, List<String>> graph) {
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
             for (String node : graph.keySet()) {
                 List<String> adjacents = graph.get(node);
                 int adjacentsSize = adjacents.size();
@@ -42,6 +48,32 @@ public class BA3UTIL {
         }
     }
 
+    public static void writeGraphToFile(DeBruijnGraph graph) {
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
+            for (int v = 0; v < graph.numNodes(); ++v) {
+                if (graph.outDegree(v) == 0) {
+                    continue;
+                }
+                int adjacentsSize = graph.outDegree(v);
+                int i = 1;
+                fileWriter.write("%s -> ".formatted(graph.node(v)));
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); ++e) {
+                    String adjacent = graph.node(graph.target(e));
+                    for (int j = 0; j < graph.multiplicity(e); ++j) {
+                        fileWriter.write("%s%c".formatted(adjacent,
+                                (i == adjacentsSize) ? '\n' : ','));
+                        ++i;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to write to file");
+        }
+    }
+
     public static<T> void printPath(List<T> path) {
         int pathSize = path.size();
         int i = 1;
@@ -52,7 +84,7 @@ public class BA3UTIL {
         }
     }
 
-    public static<T> void writePathToFile(List<T> path, FileWriter fileWriter) throws IOException {
+    public static<T> void writePathToFile(List<T> path, Writer fileWriter) throws IOException {
         int pathSize = path.size();
         int i = 1;
 
@@ -62,7 +94,10 @@ public class BA3UTIL {
         }
     }
     public static<T> void writePathToFile(List<T> path) {
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
             writePathToFile(path, fileWriter);
         } catch (IOException e) {
             System.out.println("Failed to write to file");
@@ -70,7 +105,10 @@ public class BA3UTIL {
     }
 
     public static<T> void writeListOfPathsToFile(List<List<T>> listOfPaths) {
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        if (!UTIL.getResultSink().isEnabled()) {
+            return;
+        }
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
             for (List<T> path : listOfPaths) {
                 writePathToFile(path, fileWriter);
             }
@@ -79,6 +117,41 @@ public class BA3UTIL {
         }
     }
 
+    // Numbers the nodes in order of first appearance (keys first), filling nodes with them
+    public static<T> EulerianEngine toEulerianEngine(Map<T, List<T>> graph, List<T> nodes) {
+        Map<T, Integer> ids = new HashMap<>();
+        int numEdges = 0;
+
+        for (T node : graph.keySet()) {
+            ids.put(node, nodes.size());
+            nodes.add(node);
+        }
+        for (List<T> adjacents : graph.values()) {
+            for (T adjNode : adjacents) {
+                if (!ids.containsKey(adjNode)) {
+                    ids.put(adjNode, nodes.size());
+                    nodes.add(adjNode);
+                }
+            }
+            numEdges += adjacents.size();
+        }
+
+        int[] offsets = new int[nodes.size() + 1];
+        int[] targets = new int[numEdges];
+        int v = 0, e = 0;
+        for (List<T> adjacents : graph.values()) {
+            for (T adjNode : adjacents) {
+                targets[e++] = ids.get(adjNode);
+            }
+            offsets[++v] = e;
+        }
+        while (v < nodes.size()) {
+            offsets[++v] = e;
+        }
+
+        return new EulerianEngine(nodes.size(), offsets, targets);
+    }
+
     public static<T> Map<T, int[]> getInOutDegrees(Map<T, List<T>> graph) {
         Map<T, int[]> inOutDegrees = new HashMap<>();
 
@@ -100,32 +173,48 @@ public class BA3UTIL {
         return inOutDegrees;
     }
 
-    private static<T> void
-    findAllMaximalNonBranchingPathsFromEachVertex(Map<T, List<T>> graph, T node, Map<T, int[]> inOutDegrees,
-                                                  List<T> pathList, List<List<T>> paths) {
-        pathList.add(node);
-        int[] degs = inOutDegrees.get(node);
-        if (!(degs[0] == 1 && degs[1] == 1) && pathList.size() != 1) {
-            paths.add(new ArrayList<>(pathList));
-            pathList.removeLast();
-            return;
-        }
-
-        for (T adjNode : graph.get(node)) {
-            findAllMaximalNonBranchingPathsFromEachVertex(graph, adjNode, inOutDegrees, pathList, paths);
-        }
-        pathList.removeLast();
+    private static boolean isOneInOneOut(int[] degs) {
+        return degs[0] == 1 && degs[1] == 1;
     }
 
     private static<T> List<List<T>>
-    findAllMaximalNonBranchingPathsMachinery(Map<T, List<T>> graph, Map<T, int[]> inOutDegrees) {
+    findAllMaximalNonBranchingPathsMachinery(Map<T, List<T>> graph, Map<T, int[]> inOutDegrees,
+                                             boolean withIsolatedCycles) {
         List<List<T>> paths = new ArrayList<>();
+        Set<T> visited = new HashSet<>();
+
+        for (T node : graph.keySet()) {
+            if (isOneInOneOut(inOutDegrees.get(node))) {
+                continue;
+            }
+            for (T adjNode : graph.get(node)) {
+                List<T> path = new ArrayList<>(List.of(node, adjNode));
+                while (isOneInOneOut(inOutDegrees.get(adjNode))) {
+                    visited.add(adjNode);
+                    adjNode = graph.get(adjNode).getFirst();
+                    path.add(adjNode);
+                }
+                paths.add(path);
+            }
+        }
+        if (!withIsolatedCycles) {
+            return paths;
+        }
 
         for (T node : graph.keySet()) {
-            int[] degs = inOutDegrees.get(node);
-            if (!(degs[0] == 1 && degs[1] == 1)) {
-                findAllMaximalNonBranchingPathsFromEachVertex(graph, node, inOutDegrees,
-                        new ArrayList<>(), paths);
+            if (visited.contains(node) || !isOneInOneOut(inOutDegrees.get(node))) {
+                continue;
+            }
+            List<T> cycle = new ArrayList<>(List.of(node));
+            T adjNode = node;
+            do {
+                visited.add(adjNode);
+                adjNode = graph.get(adjNode).getFirst();
+                cycle.add(adjNode);
+            } while (!adjNode.equals(node) && !visited.contains(adjNode)
+                    && isOneInOneOut(inOutDegrees.get(adjNode)));
+            if (adjNode.equals(node)) {
+                paths.add(cycle);
             }
         }
 
@@ -135,11 +224,18 @@ public class BA3UTIL {
     public static<T> List<List<T>> findAllMaximalNonBranchingPaths(Map<T, List<T>> graph) {
         Map<T, int[]> inOutDegrees = getInOutDegrees(graph);
 
-        return findAllMaximalNonBranchingPathsMachinery(graph, inOutDegrees);
+        return findAllMaximalNonBranchingPathsMachinery(graph, inOutDegrees, false);
     }
 
     public static<T> List<List<T>>
     findAllMaximalNonBranchingPaths(Map<T, List<T>> graph, Map<T, int[]> inOutDegrees) {
-        return findAllMaximalNonBranchingPathsMachinery(graph, inOutDegrees);
+        return findAllMaximalNonBranchingPathsMachinery(graph, inOutDegrees, false);
+    }
+
+    public static<T> List<List<T>>
+    findAllMaximalNonBranchingPathsAndIsolatedCycles(Map<T, List<T>> graph) {
+        Map<T, int[]> inOutDegrees = getInOutDegrees(graph);
+
+        return findAllMaximalNonBranchingPathsMachinery(graph, inOutDegrees, true);
     }
 }
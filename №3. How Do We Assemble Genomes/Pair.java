@@ -31,7 +31,7 @@ public class Pair<T, V> {
 
     @Override
     public int hashCode() {
-        return 31 + ((first == null) ? 0 : first.hashCode())
+        return 31 * ((first == null) ? 0 : first.hashCode())
                 + ((second == null) ? 0 : second.hashCode());
     }
 
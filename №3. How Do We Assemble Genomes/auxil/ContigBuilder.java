@@ -0,0 +1,184 @@
+package auxil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Contigs (maximal non-branching paths) of a DeBruijnGraph, spelled straight into byte buffers. A
+// contig starts at every edge leaving a node that is not 1-in-1-out and follows single edges while
+// it passes through 1-in-1-out nodes; each copy of a repeated k-mer starts its own contig. The
+// walks are loops over node ids, so a contig of any length needs no stack, and the nodes they pass
+// through are marked. The start nodes are split into ranges spelled in parallel and joined in node
+// order. Optionally a second pass spells the isolated cycles: chains of unmarked 1-in-1-out nodes
+// that lead back to their first node, written as in BA3M with the first node repeated at the end.
+
+public class ContigBuilder {
+
+    private final DeBruijnGraph graph;
+    private final boolean cycles;
+    private final int threads;
+
+    public ContigBuilder(DeBruijnGraph graph) {
+        this(graph, false, Tasks.POOL_SIZE);
+    }
+
+    private ContigBuilder(DeBruijnGraph graph, boolean cycles, int threads) {
+        this.graph = graph;
+        this.cycles = cycles;
+        this.threads = Math.max(1, threads);
+    }
+
+    public ContigBuilder withCycles(boolean cycles) {
+        return new ContigBuilder(graph, cycles, threads);
+    }
+
+    public ContigBuilder withThreads(int threads) {
+        return new ContigBuilder(graph, cycles, threads);
+    }
+
+    private boolean isOneInOneOut(int v) {
+        return graph.inDegree(v) == 1 && graph.outDegree(v) == 1;
+    }
+
+    public Contigs build() {
+        int numNodes = graph.numNodes();
+        boolean[] visited = new boolean[numNodes];
+        int numRanges = Math.max(1, Math.min(numNodes, 4 * threads));
+        List<Callable<Contigs>> tasks = new ArrayList<>(numRanges);
+        for (int r = 0; r < numRanges; ++r) {
+            int from = (int)((long)numNodes * r / numRanges);
+            int to = (int)((long)numNodes * (r + 1) / numRanges);
+            tasks.add(() -> spellPaths(from, to, visited));
+        }
+        List<Contigs> ranges = Tasks.getFutureResults(Math.min(threads, numRanges), tasks);
+
+        Contigs contigs = new Contigs();
+        for (Contigs range : ranges) {
+            contigs.addAll(range);
+        }
+        if (cycles) {
+            spellCycles(visited, contigs);
+        }
+
+        return contigs;
+    }
+
+    private Contigs spellPaths(int from, int to, boolean[] visited) {
+        Contigs contigs = new Contigs();
+
+        for (int v = from; v < to; ++v) {
+            if (isOneInOneOut(v)) {
+                continue;
+            }
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); ++e) {
+                for (int copy = 0; copy < graph.multiplicity(e); ++copy) {
+                    contigs.startContig(graph.nodeCode(v), graph.getK() - 1);
+                    int w = graph.target(e);
+                    contigs.appendSymbol(graph.nodeCode(w));
+                    while (isOneInOneOut(w)) {
+                        visited[w] = true;
+                        w = graph.target(graph.edgeStart(w));
+                        contigs.appendSymbol(graph.nodeCode(w));
+                    }
+                    contigs.endContig();
+                }
+            }
+        }
+
+        return contigs;
+    }
+
+    private void spellCycles(boolean[] visited, Contigs contigs) {
+        for (int v = 0; v < graph.numNodes(); ++v) {
+            if (visited[v] || !isOneInOneOut(v)) {
+                continue;
+            }
+            int w = v;
+            do {
+                visited[w] = true;
+                w = graph.target(graph.edgeStart(w));
+            } while (w != v && !visited[w] && isOneInOneOut(w));
+            if (w != v) {
+                continue;
+            }
+
+            contigs.startContig(graph.nodeCode(v), graph.getK() - 1);
+            do {
+                w = graph.target(graph.edgeStart(w));
+                contigs.appendSymbol(graph.nodeCode(w));
+            } while (w != v);
+            contigs.endContig();
+        }
+    }
+
+    // Contig i is symbols[offsets[i]] until symbols[offsets[i + 1]]
+    public static class Contigs {
+
+        private byte[] symbols = new byte[64];
+        private int numSymbols;
+        private int[] offsets = new int[16];
+        private int numContigs;
+
+        private void ensureSymbols(int extra) {
+            if (numSymbols + extra > symbols.length) {
+                symbols = Arrays.copyOf(symbols, Math.max(2 * symbols.length, numSymbols + extra));
+            }
+        }
+
+        private void startContig(long node, int nodeLength) {
+            ensureSymbols(nodeLength);
+            for (int i = nodeLength - 1; i > -1; --i) {
+                int symbolCode = (int)(node >>> (2 * i)) & 3;
+                symbols[numSymbols++] = (byte)PackedSequence.codeToSymbol(symbolCode);
+            }
+        }
+
+        private void appendSymbol(long node) {
+            ensureSymbols(1);
+            symbols[numSymbols++] = (byte)PackedSequence.codeToSymbol((int)(node & 3));
+        }
+
+        private void endContig() {
+            if (numContigs + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+            offsets[++numContigs] = numSymbols;
+        }
+
+        private void addAll(Contigs other) {
+            ensureSymbols(other.numSymbols);
+            System.arraycopy(other.symbols, 0, symbols, numSymbols, other.numSymbols);
+            for (int i = 0; i < other.numContigs; ++i) {
+                if (numContigs + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+                }
+                offsets[numContigs + 1] = numSymbols + other.offsets[i + 1];
+                ++numContigs;
+            }
+            numSymbols += other.numSymbols;
+        }
+
+        public int size() {
+            return numContigs;
+        }
+
+        public int length(int i) {
+            return offsets[i + 1] - offsets[i];
+        }
+
+        public String get(int i) {
+            return new String(symbols, offsets[i], length(i), StandardCharsets.US_ASCII);
+        }
+
+        public List<String> toList() {
+            List<String> contigs = new ArrayList<>(numContigs);
+            for (int i = 0; i < numContigs; ++i) {
+                contigs.add(get(i));
+            }
+
+            return contigs;
+        }
+    }
+}
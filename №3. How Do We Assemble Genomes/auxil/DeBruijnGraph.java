@@ -0,0 +1,241 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// De Bruijn graph of a collection of k-mers stored in compressed sparse row form. Nodes are the
+// distinct (k - 1)-mers as 2-bit packed codes in sorted (i.e. lexicographic) order, and a node's id
+// is its index in that order. The edges leaving node v are edgeStart(v) until edgeEnd(v), sorted by
+// target; repeated k-mers are kept as one edge with a multiplicity instead of parallel edges. The
+// graph is built by sorting the k-mer codes once and is not modified afterwards, so traversals keep
+// their own state (cursors, visited marks) in separate arrays.
+
+public class DeBruijnGraph {
+
+    private final int k;
+    private final long[] nodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] multiplicities;
+    private final int[] inDegrees;
+    private final int[] outDegrees;
+    private final long numKMers;
+
+    private DeBruijnGraph(int k, long[] nodes, int[] offsets, int[] targets, int[] multiplicities) {
+        this.k = k;
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.multiplicities = multiplicities;
+        this.inDegrees = new int[nodes.length];
+        this.outDegrees = new int[nodes.length];
+
+        long numKMers = 0;
+        for (int v = 0; v < nodes.length; ++v) {
+            for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+                outDegrees[v] += multiplicities[e];
+                inDegrees[targets[e]] += multiplicities[e];
+            }
+            numKMers += outDegrees[v];
+        }
+        this.numKMers = numKMers;
+    }
+
+    public static DeBruijnGraph of(List<String> kMers) {
+        Builder builder = new Builder(kMers.getFirst().length());
+        for (String kMer : kMers) {
+            builder.add(kMer);
+        }
+
+        return builder.build();
+    }
+
+    public static DeBruijnGraph of(int k, CharSequence text) {
+        PackedSequence packed = PackedSequence.of(text);
+        if (packed.hasAmbiguity()) {
+            throw new RuntimeException("Text contains a non-ACGT symbol");
+        }
+
+        return new Builder(k).addText(packed).build();
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int numNodes() {
+        return nodes.length;
+    }
+
+    public int numEdges() {
+        return targets.length;
+    }
+
+    public long numKMers() {
+        return numKMers;
+    }
+
+    public long nodeCode(int v) {
+        return nodes[v];
+    }
+
+    public String node(int v) {
+        return PackedSequence.decode(nodes[v], k - 1);
+    }
+
+    public int indexOf(long code) {
+        int v = Arrays.binarySearch(nodes, code);
+
+        return (v < 0) ? -1 : v;
+    }
+
+    public int edgeStart(int v) {
+        return offsets[v];
+    }
+
+    public int edgeEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    public int target(int e) {
+        return targets[e];
+    }
+
+    public int multiplicity(int e) {
+        return multiplicities[e];
+    }
+
+    public int inDegree(int v) {
+        return inDegrees[v];
+    }
+
+    public int outDegree(int v) {
+        return outDegrees[v];
+    }
+
+    // Adjacency lists in the form BA3D and BA3E return, a repeated k-mer repeating its target
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> graph = new LinkedHashMap<>();
+        for (int v = 0; v < nodes.length; ++v) {
+            if (offsets[v] == offsets[v + 1]) {
+                continue;
+            }
+            List<String> adjacents = new ArrayList<>(outDegrees[v]);
+            for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+                String target = node(targets[e]);
+                for (int i = 0; i < multiplicities[e]; ++i) {
+                    adjacents.add(target);
+                }
+            }
+            graph.put(node(v), adjacents);
+        }
+
+        return graph;
+    }
+
+    public static class Builder {
+
+        private final int k;
+        private long[] kMers = new long[16];
+        private int numKMers;
+
+        public Builder(int k) {
+            if (k < 2 || k > PackedSequence.MAX_K) {
+                throw new RuntimeException("k must be in range [2, %d]"
+                        .formatted(PackedSequence.MAX_K));
+            }
+            this.k = k;
+        }
+
+        public Builder add(long kMer) {
+            if (numKMers == kMers.length) {
+                kMers = Arrays.copyOf(kMers, 2 * numKMers);
+            }
+            kMers[numKMers++] = kMer;
+
+            return this;
+        }
+
+        public Builder add(CharSequence kMer) {
+            if (kMer.length() != k) {
+                throw new RuntimeException("k-mer length differs from k = %d".formatted(k));
+            }
+
+            return add(PackedSequence.encode(kMer));
+        }
+
+        // Every k-mer of text that contains only ACGT
+        public Builder addText(PackedSequence text) {
+            text.forEachKMer(k, (position, code) -> add(code));
+
+            return this;
+        }
+
+        public DeBruijnGraph build() {
+            long[] codes = Arrays.copyOf(kMers, numKMers);
+            Arrays.parallelSort(codes);
+            // Codes of 32-mers with a leading T are negative; moving them last restores the order
+            // of their prefixes
+            int numNegative = 0;
+            while (numNegative < codes.length && codes[numNegative] < 0) {
+                ++numNegative;
+            }
+            if (numNegative > 0) {
+                long[] negative = Arrays.copyOf(codes, numNegative);
+                System.arraycopy(codes, numNegative, codes, 0, codes.length - numNegative);
+                System.arraycopy(negative, 0, codes, codes.length - numNegative, numNegative);
+            }
+            long suffixMask = PackedSequence.kMerMask(k - 1);
+
+            int numEdges = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                if (i == 0 || codes[i] != codes[i - 1]) {
+                    ++numEdges;
+                }
+            }
+            long[] nodes = new long[2 * numEdges];
+            int numNodes = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                if (i == 0 || codes[i] != codes[i - 1]) {
+                    nodes[numNodes++] = codes[i] >>> 2;
+                    nodes[numNodes++] = codes[i] & suffixMask;
+                }
+            }
+            Arrays.parallelSort(nodes, 0, numNodes);
+            int numDistinct = 0;
+            for (int i = 0; i < numNodes; ++i) {
+                if (numDistinct == 0 || nodes[i] != nodes[numDistinct - 1]) {
+                    nodes[numDistinct++] = nodes[i];
+                }
+            }
+            nodes = Arrays.copyOf(nodes, numDistinct);
+
+            // Edges come sorted by source, then by target, since a k-mer code is the source code
+            // followed by the last symbol
+            int[] offsets = new int[numDistinct + 1];
+            int[] targets = new int[numEdges];
+            int[] multiplicities = new int[numEdges];
+            int e = -1, source = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                if (i > 0 && codes[i] == codes[i - 1]) {
+                    ++multiplicities[e];
+                    continue;
+                }
+                ++e;
+                while (nodes[source] != codes[i] >>> 2) {
+                    offsets[++source] = e;
+                }
+                targets[e] = Arrays.binarySearch(nodes, codes[i] & suffixMask);
+                multiplicities[e] = 1;
+            }
+            while (source < numDistinct) {
+                offsets[++source] = numEdges;
+            }
+
+            return new DeBruijnGraph(k, nodes, offsets, targets, multiplicities);
+        }
+    }
+}
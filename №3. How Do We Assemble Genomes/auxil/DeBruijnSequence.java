@@ -0,0 +1,100 @@
+package auxil;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+// k-universal circular strings (de Bruijn sequences) over any alphabet. The k-mers are the edges of
+// the de Bruijn graph and are numbered as base-alphabetSize integers, so the node of a walk is the
+// number of its last k - 1 symbols and the edge taken with symbol s from node v is
+// v * alphabetSize + s; nothing but a bitset of used edges (one bit per k-mer) is kept. The walk
+// starts after k - 1 copies of the first symbol and always takes the largest unused symbol, which
+// uses every edge exactly once before it gets stuck (the prefer-largest construction), so the
+// symbols can be written to a stream as they are chosen. One bit per k-mer allows k up to 32 for
+// the binary alphabet and up to 16 for DNA.
+
+public class DeBruijnSequence {
+
+    public static final String BINARY = "01";
+    public static final String DNA = "ACGT";
+    public static final long MAX_LENGTH = 1L << 32;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String alphabet;
+    private final int k;
+    private final long length;
+
+    public DeBruijnSequence(String alphabet, int k) {
+        if (alphabet.length() < 2 || alphabet.chars().distinct().count() != alphabet.length()) {
+            throw new RuntimeException("Alphabet must have at least two distinct symbols: %s"
+                    .formatted(alphabet));
+        }
+        if (k < 1) {
+            throw new RuntimeException("k must be positive");
+        }
+        long length = 1;
+        for (int i = 0; i < k; ++i) {
+            length *= alphabet.length();
+            if (length > MAX_LENGTH) {
+                throw new RuntimeException("%d^%d k-mers exceed the limit of %d"
+                        .formatted(alphabet.length(), k, MAX_LENGTH));
+            }
+        }
+        this.alphabet = alphabet;
+        this.k = k;
+        this.length = length;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public void write(Writer out) throws IOException {
+        int alphabetSize = alphabet.length();
+        long numNodes = length / alphabetSize;
+        long[] used = new long[(int)((length + 63) >>> 6)];
+        char[] buffer = new char[BUFFER_SIZE];
+        int buffered = 0;
+        long node = 0;
+
+        for (long written = 0; written < length; ++written) {
+            int symbol = alphabetSize - 1;
+            long edge = node * alphabetSize + symbol;
+            while (symbol >= 0 && (used[(int)(edge >>> 6)] & (1L << edge)) != 0) {
+                --symbol;
+                --edge;
+            }
+            if (symbol < 0) {
+                throw new RuntimeException("Walk stuck after %d symbols".formatted(written));
+            }
+            used[(int)(edge >>> 6)] |= 1L << edge;
+            node = edge % numNodes;
+
+            buffer[buffered++] = alphabet.charAt(symbol);
+            if (buffered == BUFFER_SIZE) {
+                out.write(buffer, 0, buffered);
+                buffered = 0;
+            }
+        }
+        out.write(buffer, 0, buffered);
+    }
+
+    public String generate() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new RuntimeException("String of length %d doesn't fit in memory, write it instead"
+                    .formatted(length));
+        }
+        StringWriter out = new StringWriter((int)length);
+        try {
+            write(out);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate the string", e);
+        }
+
+        return out.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package auxil;
+
+// Eulerian cycles and paths of a directed multigraph given as int arrays in compressed sparse row
+// form (the edges of node v are offsets[v] until offsets[v + 1], an optional multiplicity per
+// edge). Hierholzer's algorithm runs iteratively with a cursor per node pointing at its next
+// unused edge, so the graph arrays are never modified. The stack of the walk and the finished
+// circuit share one int array of numEdges + 1 entries (the stack grows from the front, the circuit
+// from the back, and together they never hold more than numEdges + 1 nodes), so apart from the
+// result a walk needs one int per node and, for multigraphs, one int per edge. Unbalanced nodes and
+// edges unreachable from the start are reported as errors instead of producing a partial walk.
+
+public class EulerianEngine {
+
+    private final int numNodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] multiplicities;
+    private final long numEdges;
+
+    public EulerianEngine(int numNodes, int[] offsets, int[] targets) {
+        this(numNodes, offsets, targets, null);
+    }
+
+    public EulerianEngine(int numNodes, int[] offsets, int[] targets, int[] multiplicities) {
+        this.numNodes = numNodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.multiplicities = multiplicities;
+
+        long numEdges = 0;
+        if (multiplicities == null) {
+            numEdges = offsets[numNodes];
+        } else {
+            for (int e = 0; e < offsets[numNodes]; ++e) {
+                numEdges += multiplicities[e];
+            }
+        }
+        if (numEdges >= Integer.MAX_VALUE) {
+            throw new RuntimeException("Graph has too many edges for one walk: %d"
+                    .formatted(numEdges));
+        }
+        this.numEdges = numEdges;
+    }
+
+    public static EulerianEngine of(DeBruijnGraph graph) {
+        int numNodes = graph.numNodes();
+        int[] offsets = new int[numNodes + 1];
+        int[] targets = new int[graph.numEdges()];
+        int[] multiplicities = new int[graph.numEdges()];
+
+        for (int v = 0; v < numNodes; ++v) {
+            offsets[v + 1] = graph.edgeEnd(v);
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); ++e) {
+                targets[e] = graph.target(e);
+                multiplicities[e] = graph.multiplicity(e);
+            }
+        }
+
+        return new EulerianEngine(numNodes, offsets, targets, multiplicities);
+    }
+
+    public long numEdges() {
+        return numEdges;
+    }
+
+    // Differences out-degree - in-degree of every node
+    public int[] balances() {
+        int[] balances = new int[numNodes];
+        for (int v = 0; v < numNodes; ++v) {
+            for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+                int multiplicity = (multiplicities == null) ? 1 : multiplicities[e];
+                balances[v] += multiplicity;
+                balances[targets[e]] -= multiplicity;
+            }
+        }
+
+        return balances;
+    }
+
+    private int firstNodeWithEdges() {
+        for (int v = 0; v < numNodes; ++v) {
+            if (offsets[v] < offsets[v + 1]) {
+                return v;
+            }
+        }
+
+        throw new RuntimeException("Graph has no edges");
+    }
+
+    public int[] cycle() {
+        int[] balances = balances();
+        for (int v = 0; v < numNodes; ++v) {
+            if (balances[v] != 0) {
+                throw new RuntimeException(("Provided graph doesn't contain an Eulerian cycle: "
+                        + "node %d has out-degree - in-degree = %d").formatted(v, balances[v]));
+            }
+        }
+
+        return walk(firstNodeWithEdges());
+    }
+
+    // Starts at the node with one more outgoing than incoming edge; a balanced graph gives a cycle
+    public int[] path() {
+        int[] balances = balances();
+        int start = -1, end = -1;
+        for (int v = 0; v < numNodes; ++v) {
+            if (balances[v] == 1 && start < 0) {
+                start = v;
+            } else if (balances[v] == -1 && end < 0) {
+                end = v;
+            } else if (balances[v] != 0) {
+                throw new RuntimeException(("Provided graph doesn't contain an Eulerian path: "
+                        + "node %d has out-degree - in-degree = %d").formatted(v, balances[v]));
+            }
+        }
+        if ((start < 0) != (end < 0)) {
+            throw new RuntimeException("Provided graph doesn't contain an Eulerian path: "
+                    + "no %s node".formatted((start < 0) ? "start" : "end"));
+        }
+
+        return walk((start < 0) ? firstNodeWithEdges() : start);
+    }
+
+    private int[] walk(int start) {
+        int[] cursors = new int[numNodes];
+        for (int v = 0; v < numNodes; ++v) {
+            cursors[v] = offsets[v];
+        }
+        int[] remaining = (multiplicities == null) ? null : multiplicities.clone();
+        int[] nodes = new int[(int)numEdges + 1];
+        int top = 0, circuitStart = nodes.length;
+        nodes[top++] = start;
+
+        while (top > 0) {
+            int v = nodes[top - 1];
+            if (cursors[v] == offsets[v + 1]) {
+                nodes[--circuitStart] = nodes[--top];
+                continue;
+            }
+            int e = cursors[v];
+            if (remaining == null || --remaining[e] == 0) {
+                ++cursors[v];
+            }
+            nodes[top++] = targets[e];
+        }
+        if (circuitStart != 0) {
+            throw new RuntimeException(("Provided graph is not connected: %d of %d edges are "
+                    + "reachable from node %d").formatted(nodes.length - circuitStart - 1,
+                    numEdges, start));
+        }
+
+        return nodes;
+    }
+}
@@ -0,0 +1,259 @@
+package auxil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Overlap graph of a collection of reads built from a prefix index instead of comparing all pairs.
+// Read a has an edge to read b if a suffix of a of length L matches the prefix of b of length L
+// with at most maxMismatches mismatches, where minOverlap <= L and L is shorter than both reads;
+// of several such lengths the longest is kept. The reads are packed, and the first minOverlap
+// symbols of every read are cut into maxMismatches + 1 seeds of at most 32 symbols; an overlap with
+// at most maxMismatches mismatches matches at least one seed exactly. Seed j of every read goes
+// into hash index j from seed code to the ids of the reads with that seed, kept in compressed
+// sparse row form. Every suffix of a read of at least minOverlap symbols is looked up once per
+// seed and the candidates are verified on the whole overlap, so finding the successors of a read
+// takes expected constant time per suffix. Seeds and windows with a non-ACGT symbol are skipped.
+// Ranges of reads are looked up in parallel and joined in read order, successors sorted by id, so
+// minOverlap = k - 1 on k-mers gives the overlap graph of BA3C.
+
+public class OverlapGraphBuilder {
+
+    private final int minOverlap;
+    private final int maxMismatches;
+    private final int threads;
+
+    public OverlapGraphBuilder(int minOverlap) {
+        this(minOverlap, 0, Tasks.POOL_SIZE);
+    }
+
+    private OverlapGraphBuilder(int minOverlap, int maxMismatches, int threads) {
+        if (minOverlap <= Math.max(0, maxMismatches)) {
+            throw new RuntimeException("Minimum overlap must exceed the number of mismatches");
+        }
+        this.minOverlap = minOverlap;
+        this.maxMismatches = Math.max(0, maxMismatches);
+        this.threads = Math.max(1, threads);
+    }
+
+    public OverlapGraphBuilder withMaxMismatches(int maxMismatches) {
+        return new OverlapGraphBuilder(minOverlap, maxMismatches, threads);
+    }
+
+    public OverlapGraphBuilder withThreads(int threads) {
+        return new OverlapGraphBuilder(minOverlap, maxMismatches, threads);
+    }
+
+    public OverlapGraph build(List<? extends CharSequence> reads) {
+        int numReads = reads.size();
+        int numRanges = Math.max(1, Math.min(numReads, 4 * threads));
+        PackedSequence[] packed = new PackedSequence[numReads];
+        List<Callable<Boolean>> packTasks = new ArrayList<>(numRanges);
+        for (int r = 0; r < numRanges; ++r) {
+            int from = (int)((long)numReads * r / numRanges);
+            int to = (int)((long)numReads * (r + 1) / numRanges);
+            packTasks.add(() -> {
+                for (int i = from; i < to; ++i) {
+                    packed[i] = PackedSequence.of(reads.get(i));
+                }
+                return true;
+            });
+        }
+        Tasks.getFutureResults(Math.min(threads, numRanges), packTasks);
+
+        int seedLength = Math.min(minOverlap / (maxMismatches + 1), PackedSequence.MAX_K);
+        PrefixIndex[] indices = new PrefixIndex[maxMismatches + 1];
+        for (int j = 0; j <= maxMismatches; ++j) {
+            indices[j] = new PrefixIndex(packed, j * seedLength, seedLength);
+        }
+        List<Callable<OverlapGraph>> tasks = new ArrayList<>(numRanges);
+        for (int r = 0; r < numRanges; ++r) {
+            int from = (int)((long)numReads * r / numRanges);
+            int to = (int)((long)numReads * (r + 1) / numRanges);
+            tasks.add(() -> findOverlaps(from, to, packed, indices));
+        }
+        List<OverlapGraph> ranges = Tasks.getFutureResults(Math.min(threads, numRanges), tasks);
+
+        OverlapGraph graph = new OverlapGraph(numReads);
+        for (OverlapGraph range : ranges) {
+            graph.addAll(range);
+        }
+
+        return graph;
+    }
+
+    private OverlapGraph
+    findOverlaps(int from, int to, PackedSequence[] packed, PrefixIndex[] indices) {
+        OverlapGraph graph = new OverlapGraph(to - from);
+        // Target id in the high half, longest overlap first in the low half
+        long[] candidates = new long[16];
+
+        for (int a = from; a < to; ++a) {
+            PackedSequence read = packed[a];
+            int numCandidates = 0;
+            for (int i = 1; i + minOverlap <= read.length(); ++i) {
+                int overlap = read.length() - i;
+                for (PrefixIndex index : indices) {
+                    int window = i + index.seedOffset;
+                    if (!read.isUnambiguous(window, window + index.seedLength)) {
+                        continue;
+                    }
+                    int group = index.group(read.kMerAt(window, index.seedLength));
+                    if (group < 0) {
+                        continue;
+                    }
+                    for (int j = index.groupStart(group); j < index.groupEnd(group); ++j) {
+                        int b = index.readIds[j];
+                        if (overlap >= packed[b].length()
+                                || read.mismatches(i, packed[b], 0, overlap, maxMismatches)
+                                > maxMismatches) {
+                            continue;
+                        }
+                        if (numCandidates == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, 2 * numCandidates);
+                        }
+                        candidates[numCandidates++] = ((long)b << 32)
+                                | (Integer.MAX_VALUE - overlap);
+                    }
+                }
+            }
+
+            Arrays.sort(candidates, 0, numCandidates);
+            for (int c = 0; c < numCandidates; ++c) {
+                if (c == 0 || candidates[c] >>> 32 != candidates[c - 1] >>> 32) {
+                    graph.addEdge((int)(candidates[c] >>> 32),
+                            Integer.MAX_VALUE - (int)candidates[c]);
+                }
+            }
+            graph.endRead();
+        }
+
+        return graph;
+    }
+
+    // One group per seed code; its read ids are readIds[groupStart(g)] until readIds[groupEnd(g)]
+    private final class PrefixIndex {
+
+        private final int seedOffset;
+        private final int seedLength;
+        private final LongIntHashMap groups;
+        private final int[] offsets;
+        private final int[] readIds;
+
+        private PrefixIndex(PackedSequence[] packed, int seedOffset, int seedLength) {
+            this.seedOffset = seedOffset;
+            this.seedLength = seedLength;
+            groups = new LongIntHashMap(packed.length);
+            int numGroups = 0, numIndexed = 0;
+            int[] readGroups = new int[packed.length];
+            for (int b = 0; b < packed.length; ++b) {
+                readGroups[b] = -1;
+                if (packed[b].length() <= minOverlap
+                        || !packed[b].isUnambiguous(seedOffset, seedOffset + seedLength)) {
+                    continue;
+                }
+                long seed = packed[b].kMerAt(seedOffset, seedLength);
+                int group = groups.get(seed) - 1;
+                if (group < 0) {
+                    group = numGroups++;
+                    groups.put(seed, group + 1);
+                }
+                readGroups[b] = group;
+                ++numIndexed;
+            }
+
+            offsets = new int[numGroups + 1];
+            for (int group : readGroups) {
+                if (group >= 0) {
+                    ++offsets[group + 1];
+                }
+            }
+            for (int g = 0; g < numGroups; ++g) {
+                offsets[g + 1] += offsets[g];
+            }
+            int[] cursors = Arrays.copyOf(offsets, numGroups);
+            readIds = new int[numIndexed];
+            for (int b = 0; b < packed.length; ++b) {
+                if (readGroups[b] >= 0) {
+                    readIds[cursors[readGroups[b]]++] = b;
+                }
+            }
+        }
+
+        private int group(long seed) {
+            return groups.get(seed) - 1;
+        }
+
+        private int groupStart(int group) {
+            return offsets[group];
+        }
+
+        private int groupEnd(int group) {
+            return offsets[group + 1];
+        }
+    }
+
+    // The successors of read a are target(e) for e from edgeStart(a) until edgeEnd(a)
+    public static class OverlapGraph {
+
+        private int[] offsets;
+        private int numReads;
+        private int[] targets = new int[16];
+        private int[] overlaps = new int[16];
+        private int numEdges;
+
+        private OverlapGraph(int expectedReads) {
+            offsets = new int[expectedReads + 1];
+        }
+
+        private void addEdge(int target, int overlap) {
+            if (numEdges == targets.length) {
+                targets = Arrays.copyOf(targets, 2 * numEdges);
+                overlaps = Arrays.copyOf(overlaps, 2 * numEdges);
+            }
+            targets[numEdges] = target;
+            overlaps[numEdges++] = overlap;
+        }
+
+        private void endRead() {
+            if (numReads + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+            offsets[++numReads] = numEdges;
+        }
+
+        private void addAll(OverlapGraph other) {
+            for (int a = 0; a < other.numReads; ++a) {
+                for (int e = other.edgeStart(a); e < other.edgeEnd(a); ++e) {
+                    addEdge(other.targets[e], other.overlaps[e]);
+                }
+                endRead();
+            }
+        }
+
+        public int numReads() {
+            return numReads;
+        }
+
+        public int numEdges() {
+            return numEdges;
+        }
+
+        public int edgeStart(int a) {
+            return offsets[a];
+        }
+
+        public int edgeEnd(int a) {
+            return offsets[a + 1];
+        }
+
+        public int target(int e) {
+            return targets[e];
+        }
+
+        public int overlapLength(int e) {
+            return overlaps[e];
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package auxil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Paired de Bruijn graph of (k, d)-mers. A node is a pair of (k - 1)-mers kept as two 2-bit packed
+// codes; nodes get ids in order of first appearance from an open addressing table whose hash
+// mixes both codes asymmetrically, so (a|b) and (b|a) land in unrelated slots. The edges are
+// stored in compressed sparse row form, the targets of every node sorted. Not every Eulerian path
+// spells a string, so the path is searched for depth first: every edge taken appends a symbol to
+// the first and to the second string, and an edge is only taken if the symbol of the first string
+// at position i >= k + d equals the symbol of the second string at position i - k - d. When the
+// walk can't go on before every edge is used, it backs up to the last node with an untried edge;
+// of parallel edges only one is tried. EulerianEngine checks beforehand that an Eulerian path
+// exists, and a balanced graph is searched from every node. A walk without dead ends takes linear
+// time, but on graphs with many short repeats (k = 2 on a few hundred symbols) the search can take
+// exponential time, so it gives up after maxSteps edges taken from one start node, 2^24 unless
+// given; an exhausted search reports that no consistent path exists.
+
+public class PairedDeBruijnGraph {
+
+    private static final long DEFAULT_MAX_STEPS = 1L << 24;
+
+    private final int k;
+    private final int d;
+    private final long[] firsts;
+    private final long[] seconds;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private PairedDeBruijnGraph(int k, int d, long[] firsts, long[] seconds, int[] offsets,
+                                int[] targets) {
+        this.k = k;
+        this.d = d;
+        this.firsts = firsts;
+        this.seconds = seconds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getD() {
+        return d;
+    }
+
+    public int numNodes() {
+        return firsts.length;
+    }
+
+    public int numEdges() {
+        return targets.length;
+    }
+
+    public String node(int v) {
+        return PackedSequence.decode(firsts[v], k - 1)
+                .concat("|")
+                .concat(PackedSequence.decode(seconds[v], k - 1));
+    }
+
+    public String spell() {
+        return spell(DEFAULT_MAX_STEPS);
+    }
+
+    public String spell(long maxSteps) {
+        if (numEdges() <= d) {
+            throw new RuntimeException("Read pairs don't overlap: %d pairs for k = %d, d = %d"
+                    .formatted(numEdges(), k, d));
+        }
+        EulerianEngine engine = new EulerianEngine(numNodes(), offsets, targets);
+        int start = engine.path()[0];
+        boolean isCycle = engine.balances()[start] == 0;
+
+        for (int v = isCycle ? 0 : start; v < (isCycle ? numNodes() : start + 1); ++v) {
+            if (offsets[v] == offsets[v + 1]) {
+                continue;
+            }
+            String text = spellFrom(v, maxSteps);
+            if (text != null) {
+                return text;
+            }
+        }
+
+        throw new RuntimeException("No Eulerian path spells a string with gap %d".formatted(d));
+    }
+
+    // Null if no Eulerian path from the start node is consistent with the gap; a step takes an edge
+    private String spellFrom(int start, long maxSteps) {
+        int nodeLength = k - 1, lag = nodeLength + d + 1, numEdges = numEdges();
+        int textLength = nodeLength + numEdges;
+        byte[] first = new byte[textLength];
+        byte[] second = new byte[textLength];
+        for (int i = 0; i < nodeLength; ++i) {
+            int shift = 2 * (nodeLength - 1 - i);
+            first[i] = (byte)((firsts[start] >>> shift) & 3);
+            second[i] = (byte)((seconds[start] >>> shift) & 3);
+        }
+        boolean[] used = new boolean[numEdges];
+        // Edge taken at every step of the walk; on backing up, the next candidate follows it
+        int[] path = new int[numEdges];
+        int depth = 0, candidate = offsets[start];
+        long steps = 0;
+
+        while (depth < numEdges) {
+            int v = (depth == 0) ? start : targets[path[depth - 1]];
+            int i = nodeLength + depth, e = candidate;
+            for (; e < offsets[v + 1]; ++e) {
+                if (!used[e] && (i < lag || (firsts[targets[e]] & 3) == second[i - lag])) {
+                    break;
+                }
+            }
+            if (e < offsets[v + 1]) {
+                if (++steps > maxSteps) {
+                    throw new RuntimeException(("No path consistent with gap %d found in %d steps "
+                            + "from node %s").formatted(d, maxSteps, node(start)));
+                }
+                used[e] = true;
+                path[depth++] = e;
+                first[i] = (byte)(firsts[targets[e]] & 3);
+                second[i] = (byte)(seconds[targets[e]] & 3);
+                candidate = offsets[targets[e]];
+                continue;
+            }
+            if (depth == 0) {
+                return null;
+            }
+            int last = path[--depth];
+            used[last] = false;
+            int from = (depth == 0) ? start : targets[path[depth - 1]];
+            candidate = last + 1;
+            while (candidate < offsets[from + 1] && targets[candidate] == targets[last]) {
+                ++candidate;
+            }
+        }
+
+        byte[] text = new byte[textLength + lag];
+        for (int i = 0; i < text.length; ++i) {
+            int code = (i < textLength) ? first[i] : second[i - lag];
+            text[i] = (byte)PackedSequence.codeToSymbol(code);
+        }
+
+        return new String(text, StandardCharsets.US_ASCII);
+    }
+
+    public static class Builder {
+
+        private static final double LOAD_FACTOR = 0.5;
+
+        private final int k;
+        private final int d;
+        private final long nodeMask;
+        private long[] firsts = new long[16];
+        private long[] seconds = new long[16];
+        private int numNodes;
+        private int[] slots = new int[32];
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int numEdges;
+
+        public Builder(int k, int d) {
+            if (k < 2 || k > PackedSequence.MAX_K) {
+                throw new RuntimeException("k must be in range [2, %d]"
+                        .formatted(PackedSequence.MAX_K));
+            }
+            this.k = k;
+            this.d = d;
+            this.nodeMask = PackedSequence.kMerMask(k - 1);
+        }
+
+        private static long mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            key *= 0xc4ceb9fe1a85ec53L;
+            key ^= key >>> 33;
+
+            return key;
+        }
+
+        private static int hash(long first, long second) {
+            return (int)mix(mix(first) * 0x9e3779b97f4a7c15L + second);
+        }
+
+        // Id of the node, added if new; slots hold ids + 1, 0 marks a free slot
+        private int nodeId(long first, long second) {
+            int mask = slots.length - 1, i = hash(first, second) & mask;
+            while (slots[i] != 0) {
+                int v = slots[i] - 1;
+                if (firsts[v] == first && seconds[v] == second) {
+                    return v;
+                }
+                i = (i + 1) & mask;
+            }
+            if (numNodes == firsts.length) {
+                firsts = Arrays.copyOf(firsts, 2 * numNodes);
+                seconds = Arrays.copyOf(seconds, 2 * numNodes);
+            }
+            firsts[numNodes] = first;
+            seconds[numNodes] = second;
+            slots[i] = ++numNodes;
+            if (numNodes > LOAD_FACTOR * slots.length) {
+                rehash();
+            }
+
+            return numNodes - 1;
+        }
+
+        private void rehash() {
+            slots = new int[2 * slots.length];
+            int mask = slots.length - 1;
+            for (int v = 0; v < numNodes; ++v) {
+                int i = hash(firsts[v], seconds[v]) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = v + 1;
+            }
+        }
+
+        public Builder add(long first, long second) {
+            if (numEdges == sources.length) {
+                sources = Arrays.copyOf(sources, 2 * numEdges);
+                targets = Arrays.copyOf(targets, 2 * numEdges);
+            }
+            sources[numEdges] = nodeId(first >>> 2, second >>> 2);
+            targets[numEdges++] = nodeId(first & nodeMask, second & nodeMask);
+
+            return this;
+        }
+
+        public Builder add(CharSequence first, CharSequence second) {
+            if (first.length() != k || second.length() != k) {
+                throw new RuntimeException("Read pair %s|%s isn't a pair of %d-mers"
+                        .formatted(first, second, k));
+            }
+
+            return add(PackedSequence.encode(first), PackedSequence.encode(second));
+        }
+
+        // Read pair written as Pattern1|Pattern2
+        public Builder add(String readPair) {
+            int separator = readPair.indexOf('|');
+            if (separator < 0) {
+                throw new RuntimeException("Incorrect read pair: %s".formatted(readPair));
+            }
+
+            return add(readPair.substring(0, separator), readPair.substring(separator + 1));
+        }
+
+        public PairedDeBruijnGraph build() {
+            int[] offsets = new int[numNodes + 1];
+            for (int e = 0; e < numEdges; ++e) {
+                ++offsets[sources[e] + 1];
+            }
+            for (int v = 0; v < numNodes; ++v) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] cursors = Arrays.copyOf(offsets, numNodes);
+            int[] edgeTargets = new int[numEdges];
+            for (int e = 0; e < numEdges; ++e) {
+                edgeTargets[cursors[sources[e]]++] = targets[e];
+            }
+            for (int v = 0; v < numNodes; ++v) {
+                Arrays.sort(edgeTargets, offsets[v], offsets[v + 1]);
+            }
+
+            return new PairedDeBruijnGraph(k, d, Arrays.copyOf(firsts, numNodes),
+                    Arrays.copyOf(seconds, numNodes), offsets, edgeTargets);
+        }
+    }
+}
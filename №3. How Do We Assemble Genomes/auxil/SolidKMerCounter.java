@@ -0,0 +1,285 @@
+package auxil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Streaming k-mer counting stage in front of the de Bruijn graph. Reads are streamed from a FASTA,
+// FASTQ or one-read-per-line file (or any collection of strings) and every k-mer of ACGT symbols
+// is counted, by default in canonical form (the smaller code of the k-mer and its reverse
+// complement), in a LongIntHashMap. When the map reaches the number of entries the memory budget
+// allows, it is written to a temporary file as a sorted run of (code, count) records and cleared.
+// At the end the runs and the map are merged in code order, counts of equal codes are summed, and
+// only solid k-mers (seen at least minCount times) are passed on, so erroneous k-mers from
+// sequencing errors never reach the graph and the reads never have to fit in memory.
+
+public class SolidKMerCounter {
+
+    // Key, value and free space of a map entry, with room for the copy made while growing
+    private static final int BYTES_PER_ENTRY = 24;
+
+    private final int k;
+    private final int minCount;
+    private final boolean canonical;
+    private final long memoryBudget;
+    private final Path spillDirectory;
+
+    public SolidKMerCounter(int k, int minCount) {
+        this(k, minCount, true, KMerCounter.DEFAULT_MEMORY_BUDGET, null);
+    }
+
+    private SolidKMerCounter(int k, int minCount, boolean canonical, long memoryBudget,
+                             Path spillDirectory) {
+        if (k < 1 || k > PackedSequence.MAX_K) {
+            throw new RuntimeException("k must be in range [1, %d]".formatted(PackedSequence.MAX_K));
+        }
+        this.k = k;
+        this.minCount = minCount;
+        this.canonical = canonical;
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public SolidKMerCounter withCanonical(boolean canonical) {
+        return new SolidKMerCounter(k, minCount, canonical, memoryBudget, spillDirectory);
+    }
+
+    public SolidKMerCounter withMemoryBudget(long memoryBudget) {
+        return new SolidKMerCounter(k, minCount, canonical, memoryBudget, spillDirectory);
+    }
+
+    // Directory for the sorted runs, the default temporary-file directory if not set
+    public SolidKMerCounter withSpillDirectory(Path spillDirectory) {
+        return new SolidKMerCounter(k, minCount, canonical, memoryBudget, spillDirectory);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public boolean isCanonical() {
+        return canonical;
+    }
+
+    public void count(Path reads, LongIntHashMap.LongIntConsumer solidConsumer) {
+        try (Counting counting = new Counting();
+             BufferedReader reader = Files.newBufferedReader(reads)) {
+            String line;
+            boolean fastq = false, fasta = false;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                if (lineNumber == 0) {
+                    fastq = line.startsWith("@");
+                    fasta = line.startsWith(">");
+                }
+                if (fastq) {
+                    if (lineNumber % 4 == 1) {
+                        counting.read(line, false);
+                    }
+                } else if (line.startsWith(">")) {
+                    counting.endRead();
+                } else {
+                    counting.read(line.strip(), fasta);
+                }
+                ++lineNumber;
+            }
+            counting.endRead();
+            counting.merge(solidConsumer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to count k-mers of %s".formatted(reads), e);
+        }
+    }
+
+    public void count(Iterable<? extends CharSequence> reads,
+                      LongIntHashMap.LongIntConsumer solidConsumer) {
+        try (Counting counting = new Counting()) {
+            for (CharSequence read : reads) {
+                counting.read(read, false);
+            }
+            counting.merge(solidConsumer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to count k-mers", e);
+        }
+    }
+
+    // Both orientations of every canonical solid k-mer, since the strand of a read is unknown
+    public DeBruijnGraph graph(Path reads) {
+        if (k < 2) {
+            throw new RuntimeException("k must be at least 2 to build a de Bruijn graph");
+        }
+        DeBruijnGraph.Builder builder = new DeBruijnGraph.Builder(k);
+        count(reads, (code, count) -> {
+            builder.add(code);
+            long reverseComplement = PackedSequence.reverseComplement(code, k);
+            if (canonical && reverseComplement != code) {
+                builder.add(reverseComplement);
+            }
+        });
+
+        return builder.build();
+    }
+
+    private final class Counting implements AutoCloseable {
+
+        private final long mask = PackedSequence.kMerMask(k);
+        private final int maxEntries = (int)Math.min(Integer.MAX_VALUE / 2,
+                Math.max(1024, memoryBudget / BYTES_PER_ENTRY));
+        private final LongIntHashMap counts = new LongIntHashMap();
+        private final List<Path> runs = new ArrayList<>();
+        private long code;
+        private long reverseComplement;
+        private int valid;
+
+        // A line continuing a FASTA record keeps the k-mers spanning the line break
+        private void read(CharSequence read, boolean continued) throws IOException {
+            if (!continued) {
+                endRead();
+            }
+            int readLength = read.length();
+            for (int i = 0; i < readLength; ++i) {
+                int symbolCode = PackedSequence.symbolToCode(read.charAt(i));
+                if (symbolCode < 0) {
+                    valid = 0;
+                    continue;
+                }
+                code = ((code << 2) | symbolCode) & mask;
+                reverseComplement = (reverseComplement >>> 2)
+                        | ((long)(3 - symbolCode) << (2 * (k - 1)));
+                if (++valid >= k) {
+                    counts.addTo(canonical ? Math.min(code, reverseComplement) : code, 1);
+                    if (counts.size() >= maxEntries) {
+                        spill();
+                    }
+                }
+            }
+        }
+
+        private void endRead() {
+            valid = 0;
+        }
+
+        private long[] sortedCodes() {
+            long[] codes = counts.keys();
+            Arrays.sort(codes);
+
+            return codes;
+        }
+
+        private void spill() throws IOException {
+            Path run = (spillDirectory == null)
+                    ? Files.createTempFile("kmers", ".run")
+                    : Files.createTempFile(spillDirectory, "kmers", ".run");
+            runs.add(run);
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+                for (long runCode : sortedCodes()) {
+                    out.writeLong(runCode);
+                    out.writeInt(counts.get(runCode));
+                }
+            }
+            counts.clear();
+        }
+
+        private void merge(LongIntHashMap.LongIntConsumer solidConsumer) throws IOException {
+            long[] codes = sortedCodes();
+            List<Run> sources = new ArrayList<>(runs.size() + 1);
+            try {
+                for (Path run : runs) {
+                    sources.add(new Run(run));
+                }
+                sources.add(new Run(codes));
+                PriorityQueue<Run> queue = new PriorityQueue<>(
+                        (fRun, sRun) -> Long.compare(fRun.code, sRun.code));
+                for (Run source : sources) {
+                    if (source.next()) {
+                        queue.add(source);
+                    }
+                }
+
+                while (!queue.isEmpty()) {
+                    long mergedCode = queue.peek().code;
+                    long count = 0;
+                    while (!queue.isEmpty() && queue.peek().code == mergedCode) {
+                        Run source = queue.poll();
+                        count += source.count;
+                        if (source.next()) {
+                            queue.add(source);
+                        }
+                    }
+                    if (count >= minCount) {
+                        solidConsumer.accept(mergedCode, (int)Math.min(count, Integer.MAX_VALUE));
+                    }
+                }
+            } finally {
+                for (Run source : sources) {
+                    source.close();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+
+        // Sorted (code, count) records from a spilled file or from the map left in memory
+        private final class Run implements AutoCloseable {
+
+            private final DataInputStream in;
+            private final long[] codes;
+            private int position;
+            private long code;
+            private int count;
+
+            private Run(Path run) throws IOException {
+                this.in = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+                this.codes = null;
+            }
+
+            private Run(long[] codes) {
+                this.in = null;
+                this.codes = codes;
+            }
+
+            private boolean next() throws IOException {
+                if (in == null) {
+                    if (position == codes.length) {
+                        return false;
+                    }
+                    code = codes[position++];
+                    count = counts.get(code);
+                    return true;
+                }
+                try {
+                    code = in.readLong();
+                    count = in.readInt();
+                    return true;
+                } catch (EOFException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (in != null) {
+                    in.close();
+                }
+            }
+        }
+    }
+}
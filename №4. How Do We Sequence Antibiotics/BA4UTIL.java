@@ -1,5 +1,5 @@
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
 public class BA4UTIL {
@@ -146,7 +146,7 @@ public class BA4UTIL {
     public static void writePeptidesToFile(Collection<List<Integer>> peptides) {
         int i, peptideSize;
 
-        try (FileWriter fileWriter = new FileWriter("answer.txt")) {
+        try (Writer fileWriter = UTIL.openResultWriter("answer.txt")) {
             for (List<Integer> peptide : peptides) {
                 peptideSize = peptide.size();
                 i = 1;
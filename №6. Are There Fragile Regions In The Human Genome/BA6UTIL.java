@@ -1,5 +1,5 @@
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -21,7 +21,7 @@ public class BA6UTIL {
     public static <T> void writeToFile(String filename, Collection<T> elems) {
         int elemsSize = elems.size(), i = 0;
 
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             for (T elem : elems) {
                 fileWriter.write("%s%c".formatted(elem, (i == elemsSize - 1) ? '\n' : ' '));
                 ++i;
@@ -83,7 +83,7 @@ public class BA6UTIL {
     }
 
     public static void writeEdgesToFile(String filename, List<Map.Entry<Integer, Integer>> edges) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             int edgesSize = edges.size();
             Map.Entry<Integer, Integer> edge;
             for (int i = 0; i < edgesSize; ++i) {
@@ -99,7 +99,7 @@ public class BA6UTIL {
 
     public static void
     writeGenomeToFile(String filename, List<List<Integer>> genome, String separator) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             int genomeSize = genome.size(), chromosomeSize, syntenyBlock;
             List<Integer> chromosome;
             for (int i = 0; i < genomeSize; ++i) {
@@ -1,5 +1,5 @@
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
 public class BA7UTIL {
@@ -29,7 +29,7 @@ public class BA7UTIL {
     }
 
     public static <T> void writeToFile(String filename, Collection<T> elems) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             int i = 0, elemsSize = elems.size();
             for (T elem : elems) {
                 fileWriter.write("%s%c".formatted(
@@ -44,7 +44,7 @@ public class BA7UTIL {
 
     public static void
     writeAdjListToFile(String filename, Map<Integer, Map<Integer, Integer>> adjList) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             int numNodes = adjList.size();
             for (int from = 0; from < numNodes; ++from) {
                 for (int to : adjList.get(from).keySet()) {
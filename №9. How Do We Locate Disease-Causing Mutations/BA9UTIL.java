@@ -3,8 +3,8 @@ import auxil.Node;
 import auxil.Edge;
 import auxil.Symbol;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Arrays;
 import java.util.ArrayList;
@@ -119,7 +119,7 @@ public class BA9UTIL {
     }
 
     public static<T> void writeToFile(String filename, T elem) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             fileWriter.write("%s\n".formatted(elem));
         } catch (IOException e) {
             System.out.println("Failed to write to file");
@@ -127,7 +127,7 @@ public class BA9UTIL {
     }
 
     public static<T> void writeToFile(String filename, List<T> elems, String sep) {
-        try (FileWriter fileWriter = new FileWriter(filename)) {
+        try (Writer fileWriter = UTIL.openResultWriter(filename)) {
             int eSize = elems.size();
             for (int i = 0; i != eSize; ++i) {
                 fileWriter.write("%s%s".formatted(elems.get(i), (i == eSize - 1) ? "\n" : sep));